@@ -0,0 +1,37 @@
+package com.rxbuddy.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Everything auth-service needs to issue tokens, returned by user-service in one call.
+ * {@code user} carries tenantId, role and permissions only when a tenant was selected:
+ * either the one requested or the user's only active tenant.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserLoginContextDTO {
+
+    private UserDTO user;
+    private List<TenantMembership> tenants;
+
+    public boolean hasSelectedTenant() {
+        return user != null && user.getTenantId() != null;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TenantMembership {
+        private Long tenantId;
+        private String tenantName;
+        private String role;
+    }
+}
@@ -0,0 +1,34 @@
+package com.rxbuddy.common.messaging;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Published by billing when a bill is cancelled or voided. {@code cardNumber} is set
+ * when the bill was made against a loyalty card.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@SuperBuilder
+@NoArgsConstructor
+public class BillCancelledEvent extends BaseEvent {
+
+    private Long billId;
+    private String cardNumber;
+    private String reason;
+    private Long performedBy;
+
+    public static BillCancelledEvent of(Long tenantId, Long billId, String cardNumber, String reason,
+                                        Long performedBy) {
+        BillCancelledEvent event = new BillCancelledEvent();
+        event.setTenantId(tenantId);
+        event.setBillId(billId);
+        event.setCardNumber(cardNumber);
+        event.setReason(reason);
+        event.setPerformedBy(performedBy);
+        event.initializeEvent(RabbitMQConfig.ROUTING_KEY_BILL_CANCELLED);
+        return event;
+    }
+}
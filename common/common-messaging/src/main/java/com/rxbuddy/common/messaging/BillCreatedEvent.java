@@ -0,0 +1,51 @@
+package com.rxbuddy.common.messaging;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Published by billing when a bill is finalised. {@code cardNumber} is set
+ * when the customer presented a loyalty card.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@SuperBuilder
+@NoArgsConstructor
+public class BillCreatedEvent extends BaseEvent {
+
+    private Long billId;
+    private String cardNumber;
+    private BigDecimal billAmount;
+    private List<Item> items;
+    private Long performedBy;
+
+    public static BillCreatedEvent of(Long tenantId, Long billId, String cardNumber, BigDecimal billAmount,
+                                      List<Item> items, Long performedBy) {
+        BillCreatedEvent event = new BillCreatedEvent();
+        event.setTenantId(tenantId);
+        event.setBillId(billId);
+        event.setCardNumber(cardNumber);
+        event.setBillAmount(billAmount);
+        event.setItems(items);
+        event.setPerformedBy(performedBy);
+        event.initializeEvent(RabbitMQConfig.ROUTING_KEY_BILL_CREATED);
+        return event;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long categoryId;
+        private String categoryName;
+        private BigDecimal amount;
+    }
+}
@@ -0,0 +1,24 @@
+package com.rxbuddy.common.messaging;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Broadcast when a tenant's card configuration changes, so every card-service
+ * replica drops its cached snapshot for that tenant.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@SuperBuilder
+@NoArgsConstructor
+public class CardConfigUpdatedEvent extends BaseEvent {
+
+    public static CardConfigUpdatedEvent of(Long tenantId) {
+        CardConfigUpdatedEvent event = new CardConfigUpdatedEvent();
+        event.setTenantId(tenantId);
+        event.initializeEvent(RabbitMQConfig.ROUTING_KEY_CARD_CONFIG_UPDATED);
+        return event;
+    }
+}
@@ -13,6 +13,7 @@ public class RabbitMQConfig {
     public static final String ROUTING_KEY_USER_CREATED = "user.user.created";
     public static final String ROUTING_KEY_TENANT_CREATED = "tenant.tenant.created";
     public static final String ROUTING_KEY_SUBSCRIPTION_EXPIRED = "tenant.subscription.expired";
+    public static final String ROUTING_KEY_CARD_CONFIG_UPDATED = "card.config.updated";
 
     // Queues
     public static final String QUEUE_STOCK_DEDUCT = "inventory.stock.deduct";
@@ -20,4 +21,10 @@ public class RabbitMQConfig {
     public static final String QUEUE_WALLET_CREDIT = "customer.wallet.credit";
     public static final String QUEUE_COMMISSION_CREATE = "doctor.commission.create";
     public static final String QUEUE_NOTIFICATION_SEND = "notification.send";
+    public static final String QUEUE_CARD_POINTS_EARN = "card.points.earn";
+    public static final String QUEUE_CARD_POINTS_REVERSE = "card.points.reverse";
+
+    // Dead-letter queues (events that can never be processed)
+    public static final String QUEUE_CARD_POINTS_EARN_DLQ = "card.points.earn.dlq";
+    public static final String QUEUE_CARD_POINTS_REVERSE_DLQ = "card.points.reverse.dlq";
 }
@@ -0,0 +1,39 @@
+package com.rxbuddy.common.messaging;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDate;
+
+/**
+ * Published by tenant-service when a pharmacy signs up.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@SuperBuilder
+@NoArgsConstructor
+public class TenantCreatedEvent extends BaseEvent {
+
+    private String code;
+    private String name;
+    private String phone;
+    private String email;
+    private String planCode;
+    private LocalDate trialEndsAt;
+
+    public static TenantCreatedEvent of(Long tenantId, String code, String name, String phone, String email,
+                                        String planCode, LocalDate trialEndsAt) {
+        TenantCreatedEvent event = new TenantCreatedEvent();
+        event.setTenantId(tenantId);
+        event.setCode(code);
+        event.setName(name);
+        event.setPhone(phone);
+        event.setEmail(email);
+        event.setPlanCode(planCode);
+        event.setTrialEndsAt(trialEndsAt);
+        event.initializeEvent(RabbitMQConfig.ROUTING_KEY_TENANT_CREATED);
+        return event;
+    }
+}
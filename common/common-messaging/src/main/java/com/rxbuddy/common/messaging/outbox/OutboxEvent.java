@@ -0,0 +1,44 @@
+package com.rxbuddy.common.messaging.outbox;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * An event waiting to be relayed to the broker. Rows are written in the same
+ * transaction as the change they describe and deleted once the broker confirms them.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false, unique = true, length = 36)
+    private String eventId;
+
+    // Routing key on the events exchange
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    // Sent as the __TypeId__ header so Jackson listeners can map the payload
+    @Column(name = "event_class", nullable = false)
+    private String eventClass;
+
+    @Column(name = "tenant_id")
+    private Long tenantId;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
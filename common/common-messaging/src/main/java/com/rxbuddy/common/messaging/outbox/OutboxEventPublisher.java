@@ -0,0 +1,53 @@
+package com.rxbuddy.common.messaging.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rxbuddy.common.messaging.BaseEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Publishes events through the outbox: the event is stored with the caller's
+ * transaction and {@link OutboxRelay} sends it once that transaction commits,
+ * so no broker call ever runs inside a database transaction.
+ * <p>
+ * Only registered when the relay is too: without it nothing would drain the rows.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.messaging", name = {"enabled", "outbox.enabled"}, havingValue = "true")
+public class OutboxEventPublisher {
+
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public OutboxEventPublisher(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(BaseEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize event " + event.getEventType(), e);
+        }
+
+        entityManager.persist(OutboxEvent.builder()
+                .eventId(event.getEventId())
+                .eventType(event.getEventType())
+                .eventClass(event.getClass().getName())
+                .tenantId(event.getTenantId())
+                .payload(payload)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,137 @@
+package com.rxbuddy.common.messaging.outbox;
+
+import com.rxbuddy.common.messaging.RabbitMQConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox to the events exchange. Each batch is locked with SKIP LOCKED
+ * (so replicas split the work), sent on one channel, confirmed with a single wait for
+ * publisher confirms and then deleted. A failed batch is rolled back and retried on the
+ * next run, which makes delivery at-least-once: consumers must tolerate duplicates.
+ * <p>
+ * Exposes {@code outbox.pending} (rows waiting), {@code outbox.lag} (age of the oldest
+ * row, in seconds) and {@code outbox.published} (events confirmed).
+ */
+@Slf4j
+public class OutboxRelay {
+
+    // Hibernate's lock timeout value for SKIP LOCKED
+    private static final int SKIP_LOCKED = -2;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration confirmTimeout;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final Counter published;
+
+    public OutboxRelay(RabbitTemplate rabbitTemplate, PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry, int batchSize, Duration confirmTimeout) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.confirmTimeout = confirmTimeout;
+
+        Gauge.builder("outbox.pending", pending, AtomicLong::get)
+                .description("Outbox events waiting to be published")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest unpublished outbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.published = Counter.builder("outbox.published")
+                .description("Outbox events confirmed by the broker")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.messaging.outbox.flush-interval-ms:1000}",
+               initialDelayString = "${app.messaging.outbox.flush-interval-ms:1000}")
+    public void flush() {
+        try {
+            int sent;
+            do {
+                sent = transactionTemplate.execute(status -> relayBatch());
+            } while (sent == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed, will retry: {}", e.getMessage());
+        } finally {
+            refreshLag();
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> batch = entityManager
+                .createQuery("SELECT e FROM OutboxEvent e ORDER BY e.id", OutboxEvent.class)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setHint("jakarta.persistence.lock.timeout", SKIP_LOCKED)
+                .setMaxResults(batchSize)
+                .getResultList();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        rabbitTemplate.invoke(operations -> {
+            for (OutboxEvent event : batch) {
+                operations.send(RabbitMQConfig.EXCHANGE_NAME, event.getEventType(), toMessage(event));
+            }
+            operations.waitForConfirmsOrDie(confirmTimeout.toMillis());
+            return null;
+        });
+
+        entityManager.createQuery("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+                .setParameter("ids", batch.stream().map(OutboxEvent::getId).toList())
+                .executeUpdate();
+        published.increment(batch.size());
+        log.debug("Relayed {} outbox events", batch.size());
+        return batch.size();
+    }
+
+    private Message toMessage(OutboxEvent event) {
+        return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId(event.getEventId())
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .setHeader("__TypeId__", event.getEventClass())
+                .build();
+    }
+
+    private void refreshLag() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                pending.set(entityManager.createQuery("SELECT COUNT(e) FROM OutboxEvent e", Long.class)
+                        .getSingleResult());
+                LocalDateTime oldest = entityManager
+                        .createQuery("SELECT MIN(e.createdAt) FROM OutboxEvent e", LocalDateTime.class)
+                        .getSingleResult();
+                lagSeconds.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toSeconds()));
+            });
+        } catch (RuntimeException e) {
+            log.debug("Could not refresh outbox lag: {}", e.getMessage());
+        }
+    }
+}
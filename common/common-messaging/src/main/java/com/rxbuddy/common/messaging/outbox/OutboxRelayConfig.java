@@ -0,0 +1,32 @@
+package com.rxbuddy.common.messaging.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+/**
+ * Runs the {@link OutboxRelay} when both messaging and the outbox are enabled.
+ * The relay waits for publisher confirms, so the service must set
+ * {@code spring.rabbitmq.publisher-confirm-type: simple}.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "app.messaging", name = {"enabled", "outbox.enabled"}, havingValue = "true")
+public class OutboxRelayConfig {
+
+    @Bean
+    public OutboxRelay outboxRelay(RabbitTemplate rabbitTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.messaging.outbox.batch-size:100}") int batchSize,
+                                   @Value("${app.messaging.outbox.confirm-timeout:5s}") Duration confirmTimeout) {
+        return new OutboxRelay(rabbitTemplate, transactionManager, meterRegistry, batchSize, confirmTimeout);
+    }
+}
@@ -0,0 +1,82 @@
+package com.rxbuddy.common.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of verifying one access token and reading the claims a request needs: the key and
+ * parser built per request (the gateway before) against the shared parser, and one
+ * verification per extracted claim against {@link JwtUtil#verify}. Run with {@code -prof gc}
+ * for the allocation per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-at-least-32-chars";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(jwtUtil, "issuer", "rxbuddy");
+        jwtUtil.init();
+        token = jwtUtil.generateAccessToken(42L, "9000000001", 7L, "STAFF", Set.of("BILL_CREATE", "CARD_READ"));
+    }
+
+    @Benchmark
+    public void perRequestKeyAndParser(Blackhole blackhole) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        consume(Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload(), blackhole);
+    }
+
+    @Benchmark
+    public void sharedParser(Blackhole blackhole) {
+        consume(jwtUtil.extractAllClaims(token), blackhole);
+    }
+
+    @Benchmark
+    public void verificationPerClaim(Blackhole blackhole) {
+        blackhole.consume(jwtUtil.extractUserId(token));
+        blackhole.consume(jwtUtil.extractPhone(token));
+        blackhole.consume(jwtUtil.extractTenantId(token));
+        blackhole.consume(jwtUtil.extractRole(token));
+        blackhole.consume(jwtUtil.extractPermissions(token));
+        blackhole.consume(jwtUtil.extractTokenType(token));
+    }
+
+    @Benchmark
+    public void verifyOnce(Blackhole blackhole) {
+        VerifiedToken verified = jwtUtil.verify(token).orElseThrow();
+        blackhole.consume(verified.getUserId());
+        blackhole.consume(verified.getPhone());
+        blackhole.consume(verified.getTenantId());
+        blackhole.consume(verified.getRole());
+        blackhole.consume(verified.getPermissions());
+        blackhole.consume(verified.getType());
+    }
+
+    private static void consume(Claims claims, Blackhole blackhole) {
+        blackhole.consume(claims.getSubject());
+        blackhole.consume(claims.get("phone", String.class));
+        blackhole.consume(claims.get("tenantId", Long.class));
+        blackhole.consume(claims.get("role", String.class));
+    }
+}
@@ -0,0 +1,77 @@
+package com.rxbuddy.common.security;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of concurrent blocking requests on Tomcat's default 200 platform threads against
+ * one virtual thread per request, as {@code spring.threads.virtual.enabled} runs them. Each
+ * request binds its tenant in {@link TenantContext} and waits {@code ioMillis}, standing in
+ * for the JDBC and Feign round trips the servlet services spend most of a request on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestThreadsBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"200", "1000", "4000"})
+    public int concurrentRequests;
+
+    @Param({"10"})
+    public long ioMillis;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        executor = "virtual".equals(threads)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Time until the whole burst has been served.
+     */
+    @Benchmark
+    public long burst() throws Exception {
+        List<Future<Long>> responses = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            long tenantId = i % 50;
+            responses.add(executor.submit(() -> handle(tenantId)));
+        }
+        long served = 0;
+        for (Future<Long> response : responses) {
+            served += response.get();
+        }
+        return served;
+    }
+
+    private long handle(long tenantId) throws InterruptedException {
+        TenantContext.setTenantId(tenantId);
+        try {
+            Thread.sleep(ioMillis);
+            return TenantContext.getTenantId();
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
@@ -1,5 +1,12 @@
 package com.rxbuddy.common.security;
 
+/**
+ * Tenant of the current request.
+ * <p>
+ * The value is bound to the executing thread. With {@code spring.threads.virtual.enabled}
+ * every request runs on its own virtual thread, and a virtual thread's thread-locals are
+ * never shared with the carrier it is mounted on, so values cannot leak between requests.
+ */
 public class TenantContext {
 
     private static final ThreadLocal<Long> CURRENT_TENANT = new ThreadLocal<>();
@@ -0,0 +1,66 @@
+package com.rxbuddy.common.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A token whose signature has already been checked. All claims are read from the
+ * single parse done by {@link JwtUtil#verify(String)}, so callers never re-verify
+ * the HMAC to get at another claim.
+ */
+public final class VerifiedToken {
+
+    private final Claims claims;
+
+    VerifiedToken(Claims claims) {
+        this.claims = claims;
+    }
+
+    public Long getUserId() {
+        return Long.parseLong(claims.getSubject());
+    }
+
+    public String getPhone() {
+        return claims.get("phone", String.class);
+    }
+
+    public Long getTenantId() {
+        return claims.get("tenantId", Long.class);
+    }
+
+    public String getRole() {
+        return claims.get("role", String.class);
+    }
+
+    public Set<String> getPermissions() {
+        Object permissions = claims.get("permissions");
+        if (!(permissions instanceof Collection<?> values)) {
+            return Set.of();
+        }
+        return values.stream().map(String::valueOf).collect(Collectors.toUnmodifiableSet());
+    }
+
+    public String getType() {
+        return claims.get("type", String.class);
+    }
+
+    public boolean isAccessToken() {
+        return "access".equals(getType());
+    }
+
+    public boolean isRefreshToken() {
+        return "refresh".equals(getType());
+    }
+
+    public Date getExpiration() {
+        return claims.getExpiration();
+    }
+
+    public Claims getClaims() {
+        return claims;
+    }
+}
@@ -0,0 +1,100 @@
+package com.rxbuddy.common.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "test-secret-key-for-jwt-util-at-least-32-chars";
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = jwtUtil(SECRET, 60_000);
+    }
+
+    @Test
+    void verifiedTokenExposesEveryClaimFromOneParse() {
+        String token = jwtUtil.generateAccessToken(42L, "9000000001", 7L, "ADMIN", Set.of("CARD_READ", "CARD_WRITE"));
+
+        VerifiedToken verified = jwtUtil.verify(token).orElseThrow();
+
+        assertThat(verified.getUserId()).isEqualTo(42L);
+        assertThat(verified.getPhone()).isEqualTo("9000000001");
+        assertThat(verified.getTenantId()).isEqualTo(7L);
+        assertThat(verified.getRole()).isEqualTo("ADMIN");
+        assertThat(verified.getPermissions()).containsExactlyInAnyOrder("CARD_READ", "CARD_WRITE");
+        assertThat(verified.isAccessToken()).isTrue();
+        assertThat(verified.isRefreshToken()).isFalse();
+        assertThat(verified.getExpiration()).isInTheFuture();
+    }
+
+    @Test
+    void verifiedTokenAgreesWithTheExtractMethods() {
+        String token = jwtUtil.generateAccessToken(42L, "9000000001", 7L, "STAFF", Set.of("BILL_CREATE"));
+
+        VerifiedToken verified = jwtUtil.verify(token).orElseThrow();
+
+        assertThat(verified.getUserId()).isEqualTo(jwtUtil.extractUserId(token));
+        assertThat(verified.getPhone()).isEqualTo(jwtUtil.extractPhone(token));
+        assertThat(verified.getTenantId()).isEqualTo(jwtUtil.extractTenantId(token));
+        assertThat(verified.getRole()).isEqualTo(jwtUtil.extractRole(token));
+        assertThat(verified.getPermissions()).isEqualTo(jwtUtil.extractPermissions(token));
+        assertThat(verified.getType()).isEqualTo(jwtUtil.extractTokenType(token));
+    }
+
+    @Test
+    void refreshTokenHasNoPermissions() {
+        VerifiedToken verified = jwtUtil.verify(jwtUtil.generateRefreshToken(42L)).orElseThrow();
+
+        assertThat(verified.isRefreshToken()).isTrue();
+        assertThat(verified.getPermissions()).isEmpty();
+        assertThat(verified.getTenantId()).isNull();
+    }
+
+    @Test
+    void rejectsTamperedToken() {
+        String token = jwtUtil.generateAccessToken(42L, "9000000001", 7L, "ADMIN", Set.of());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThat(jwtUtil.verify(tampered)).isEmpty();
+        assertThat(jwtUtil.validateToken(tampered)).isFalse();
+    }
+
+    @Test
+    void rejectsTokenSignedWithAnotherKey() {
+        String token = jwtUtil("other-secret-key-for-jwt-util-at-least-32-char", 60_000)
+                .generateAccessToken(42L, "9000000001", 7L, "ADMIN", Set.of());
+
+        assertThat(jwtUtil.verify(token)).isEmpty();
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        String token = jwtUtil(SECRET, -1_000).generateAccessToken(42L, "9000000001", 7L, "ADMIN", Set.of());
+
+        assertThat(jwtUtil.verify(token)).isEmpty();
+    }
+
+    @Test
+    void rejectsMalformedToken() {
+        assertThat(jwtUtil.verify("not-a-jwt")).isEmpty();
+        assertThat(jwtUtil.verify("")).isEmpty();
+    }
+
+    private static JwtUtil jwtUtil(String secret, long expiration) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "jwtSecret", secret);
+        ReflectionTestUtils.setField(util, "jwtExpiration", expiration);
+        ReflectionTestUtils.setField(util, "refreshExpiration", 60_000L);
+        ReflectionTestUtils.setField(util, "issuer", "rxbuddy");
+        util.init();
+        return util;
+    }
+}
@@ -0,0 +1,55 @@
+package com.rxbuddy.common.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TenantContextTest {
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void virtualThreadsNeverSeeAnotherRequestsTenant() throws Exception {
+        TenantContext.setTenantId(99L);
+
+        // Far more tasks than carriers, so carriers are reused across tasks
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (long tenantId = 1; tenantId <= 10_000; tenantId++) {
+                long tenant = tenantId;
+                results.add(executor.submit(() -> {
+                    if (TenantContext.getTenantId() != null) {
+                        return false;
+                    }
+                    TenantContext.setTenantId(tenant);
+                    Thread.yield();
+                    return TenantContext.getTenantId() == tenant;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get()).isTrue();
+            }
+        }
+
+        assertThat(TenantContext.getTenantId()).isEqualTo(99L);
+    }
+
+    @Test
+    void clearRemovesTheTenant() {
+        TenantContext.setTenantId(7L);
+
+        TenantContext.clear();
+
+        assertThat(TenantContext.getTenantId()).isNull();
+    }
+}
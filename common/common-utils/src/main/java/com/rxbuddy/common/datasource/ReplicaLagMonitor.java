@@ -0,0 +1,97 @@
+package com.rxbuddy.common.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Polls the replica's replication status and marks it available only while it is reachable,
+ * replicating and no further behind the primary than {@code maxLag}. Until the first check
+ * succeeds, and whenever one fails, reads fall back to the primary.
+ * <p>
+ * Exposes {@code datasource.replica.lag} (seconds behind the primary, -1 when unknown) and
+ * {@code datasource.replica.available} (1 while reads are routed to the replica).
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final DataSource replica;
+    private final long maxLagSeconds;
+    private final AtomicLong lagSeconds = new AtomicLong(-1);
+    private volatile boolean available;
+
+    public ReplicaLagMonitor(DataSource replica, MeterRegistry meterRegistry, Duration maxLag) {
+        this.replica = replica;
+        this.maxLagSeconds = maxLag.toSeconds();
+
+        Gauge.builder("datasource.replica.lag", lagSeconds, AtomicLong::get)
+                .description("Replication lag of the read replica")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.available", this, monitor -> monitor.available ? 1 : 0)
+                .description("Whether read-only transactions are routed to the replica")
+                .register(meterRegistry);
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        Long lag;
+        try {
+            lag = readLag();
+        } catch (SQLException e) {
+            log.debug("Replica lag check failed: {}", e.getMessage());
+            lag = null;
+        }
+
+        boolean nowAvailable = lag != null && lag <= maxLagSeconds;
+        lagSeconds.set(lag != null ? lag : -1);
+        if (nowAvailable != available) {
+            if (nowAvailable) {
+                log.info("Read replica available ({}s behind), routing read-only transactions to it", lag);
+            } else {
+                log.warn("Read replica unavailable (lag {}), routing read-only transactions to the primary",
+                        lag != null ? lag + "s" : "unknown");
+            }
+        }
+        available = nowAvailable;
+    }
+
+    /**
+     * Seconds behind the primary, or null when the replica is not replicating
+     * (no replication configured, or a replication thread has stopped).
+     */
+    private Long readLag() throws SQLException {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            try (ResultSet status = statement.executeQuery("SHOW REPLICA STATUS")) {
+                return lag(status, "Seconds_Behind_Source");
+            } catch (SQLException e) {
+                // MySQL before 8.0.22
+                try (ResultSet status = statement.executeQuery("SHOW SLAVE STATUS")) {
+                    return lag(status, "Seconds_Behind_Master");
+                }
+            }
+        }
+    }
+
+    private static Long lag(ResultSet status, String column) throws SQLException {
+        if (!status.next()) {
+            return null;
+        }
+        long lag = status.getLong(column);
+        return status.wasNull() ? null : lag;
+    }
+}
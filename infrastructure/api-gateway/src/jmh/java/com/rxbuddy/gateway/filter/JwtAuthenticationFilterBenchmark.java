@@ -0,0 +1,62 @@
+package com.rxbuddy.gateway.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The requests {@link JwtAuthenticationFilter} answers without verifying a signature: an
+ * open endpoint passed through, a protected path that shares a prefix with one, and the
+ * rejections a credential-stuffing burst produces. Run with {@code -prof gc} for the
+ * allocation per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-at-least-32-chars";
+    private static final GatewayFilterChain CHAIN = exchange -> Mono.empty();
+
+    private JwtAuthenticationFilter filter;
+
+    @Setup
+    public void setUp() {
+        filter = new JwtAuthenticationFilter(SECRET, new VerifiedTokenCache(false, 50_000, new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public MockServerWebExchange openEndpoint() {
+        return filter(MockServerHttpRequest.get("/api/v1/auth/login/otp"));
+    }
+
+    @Benchmark
+    public MockServerWebExchange missingHeader() {
+        return filter(MockServerHttpRequest.get("/api/v1/auth/loginx"));
+    }
+
+    @Benchmark
+    public MockServerWebExchange malformedHeader() {
+        return filter(MockServerHttpRequest.get("/api/v1/cards").header(HttpHeaders.AUTHORIZATION, "Basic abc"));
+    }
+
+    @Benchmark
+    public MockServerWebExchange invalidToken() {
+        return filter(MockServerHttpRequest.get("/api/v1/cards").header(HttpHeaders.AUTHORIZATION, "Bearer not-a-jwt"));
+    }
+
+    private MockServerWebExchange filter(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        filter.filter(exchange, CHAIN).block();
+        return exchange;
+    }
+}
@@ -0,0 +1,68 @@
+package com.rxbuddy.gateway.filter;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An authenticated request through {@link JwtAuthenticationFilter} with the same POS token
+ * every time: cold verifies the HMAC and parses the claims on each request (cache off),
+ * warm finds the token in {@link VerifiedTokenCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VerifiedTokenCacheBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-at-least-32-chars";
+    private static final GatewayFilterChain CHAIN = exchange -> Mono.empty();
+
+    private JwtAuthenticationFilter cold;
+    private JwtAuthenticationFilter warm;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        cold = new JwtAuthenticationFilter(SECRET, new VerifiedTokenCache(false, 50_000, new SimpleMeterRegistry()));
+        warm = new JwtAuthenticationFilter(SECRET, new VerifiedTokenCache(true, 50_000, new SimpleMeterRegistry()));
+        authorization = "Bearer " + Jwts.builder()
+                .subject("42")
+                .claim("phone", "9000000001")
+                .claim("tenantId", 7L)
+                .claim("role", "STAFF")
+                .claim("type", "access")
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    @Benchmark
+    public MockServerWebExchange cold() {
+        return filter(cold);
+    }
+
+    @Benchmark
+    public MockServerWebExchange warm() {
+        return filter(warm);
+    }
+
+    private MockServerWebExchange filter(JwtAuthenticationFilter filter) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/cards")
+                .header(HttpHeaders.AUTHORIZATION, authorization));
+        filter.filter(exchange, CHAIN).block();
+        return exchange;
+    }
+}
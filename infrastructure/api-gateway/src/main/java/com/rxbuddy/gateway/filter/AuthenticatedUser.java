@@ -0,0 +1,18 @@
+package com.rxbuddy.gateway.filter;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Header values extracted from a verified access token, ready to be forwarded downstream.
+ */
+public record AuthenticatedUser(String userId, String phone, String tenantId, String role, long expiresAtMillis) {
+
+    static AuthenticatedUser from(Claims claims) {
+        return new AuthenticatedUser(
+                claims.getSubject(),
+                claims.get("phone", String.class),
+                String.valueOf(claims.get("tenantId", Long.class)),
+                claims.get("role", String.class),
+                claims.getExpiration().getTime());
+    }
+}
@@ -1,6 +1,7 @@
 package com.rxbuddy.gateway.filter;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -10,93 +11,122 @@ import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 import reactor.core.publisher.Mono;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Slf4j
 @Component
 public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
-    @Value("${app.jwt.secret:rxbuddy-super-secret-key-for-jwt-min-32-characters-long}")
-    private String jwtSecret;
-
-    private static final List<String> OPEN_ENDPOINTS = List.of(
-            "/api/v1/auth/login",
-            "/api/v1/auth/register",
-            "/api/v1/auth/refresh",
-            "/api/v1/auth/forgot-password",
-            "/api/v1/auth/reset-password",
-            "/actuator"
-    );
+    // Compiled once; matched against the already-parsed request path
+    private static final List<PathPattern> OPEN_ENDPOINTS = Stream.of(
+            "/api/v1/auth/login/**",
+            "/api/v1/auth/register/**",
+            "/api/v1/auth/refresh/**",
+            "/api/v1/auth/forgot-password/**",
+            "/api/v1/auth/reset-password/**",
+            "/actuator/**"
+    ).map(PathPatternParser.defaultInstance::parse).toList();
+
+    // Error bodies are static, so they are encoded once and only wrapped per response
+    private static final byte[] MISSING_HEADER_BODY = errorBody("Missing Authorization header");
+    private static final byte[] INVALID_HEADER_BODY = errorBody("Invalid Authorization header");
+    private static final byte[] INVALID_TOKEN_BODY = errorBody("Invalid or expired token");
+
+    // Built once at startup: the parser is immutable and thread-safe
+    private final JwtParser jwtParser;
+    private final VerifiedTokenCache tokenCache;
+
+    public JwtAuthenticationFilter(
+            @Value("${app.jwt.secret:rxbuddy-super-secret-key-for-jwt-min-32-characters-long}") String jwtSecret,
+            VerifiedTokenCache tokenCache) {
+        this.tokenCache = tokenCache;
+        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+    }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
-        String path = request.getURI().getPath();
 
         // Skip authentication for open endpoints
-        if (isOpenEndpoint(path)) {
+        if (isOpenEndpoint(request.getPath().pathWithinApplication())) {
             return chain.filter(exchange);
         }
 
         // Check for Authorization header
         if (!request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
-            return onError(exchange, "Missing Authorization header", HttpStatus.UNAUTHORIZED);
+            return onError(exchange, MISSING_HEADER_BODY, HttpStatus.UNAUTHORIZED);
         }
 
         String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return onError(exchange, "Invalid Authorization header", HttpStatus.UNAUTHORIZED);
+            return onError(exchange, INVALID_HEADER_BODY, HttpStatus.UNAUTHORIZED);
         }
 
         String token = authHeader.substring(7);
 
         try {
-            Claims claims = validateToken(token);
+            AuthenticatedUser user = tokenCache.get(token);
+            if (user == null) {
+                user = AuthenticatedUser.from(validateToken(token));
+                tokenCache.put(token, user);
+            }
 
             // Add user info to headers for downstream services
             ServerHttpRequest modifiedRequest = request.mutate()
-                    .header("X-User-Id", claims.getSubject())
-                    .header("X-User-Phone", claims.get("phone", String.class))
-                    .header("X-Tenant-Id", String.valueOf(claims.get("tenantId", Long.class)))
-                    .header("X-User-Role", claims.get("role", String.class))
+                    .header("X-User-Id", user.userId())
+                    .header("X-User-Phone", user.phone())
+                    .header("X-Tenant-Id", user.tenantId())
+                    .header("X-User-Role", user.role())
                     .build();
 
             return chain.filter(exchange.mutate().request(modifiedRequest).build());
 
         } catch (Exception e) {
-            log.error("JWT validation failed: {}", e.getMessage());
-            return onError(exchange, "Invalid or expired token", HttpStatus.UNAUTHORIZED);
+            log.debug("JWT validation failed: {}", e.getMessage());
+            return onError(exchange, INVALID_TOKEN_BODY, HttpStatus.UNAUTHORIZED);
         }
     }
 
-    private boolean isOpenEndpoint(String path) {
-        return OPEN_ENDPOINTS.stream().anyMatch(path::startsWith);
+    private boolean isOpenEndpoint(PathContainer path) {
+        for (PathPattern pattern : OPEN_ENDPOINTS) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private Claims validateToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
-    private Mono<Void> onError(ServerWebExchange exchange, String message, HttpStatus status) {
+    private Mono<Void> onError(ServerWebExchange exchange, byte[] body, HttpStatus status) {
         ServerHttpResponse response = exchange.getResponse();
         response.setStatusCode(status);
-        response.getHeaders().add("Content-Type", "application/json");
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        // wrap() does not copy; a DataBuffer itself cannot be shared because it is released after write
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
 
-        String body = String.format("{\"success\":false,\"message\":\"%s\"}", message);
-        return response.writeWith(Mono.just(response.bufferFactory().wrap(body.getBytes())));
+    private static byte[] errorBody(String message) {
+        return ("{\"success\":false,\"message\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
     }
 
     @Override
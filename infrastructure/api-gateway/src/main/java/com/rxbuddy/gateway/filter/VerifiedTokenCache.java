@@ -0,0 +1,94 @@
+package com.rxbuddy.gateway.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of recently verified access tokens, so repeated requests carrying the
+ * same token skip HMAC verification and claim parsing. Entries are keyed by the SHA-256
+ * of the token (raw tokens are never retained) and expire at the token's exp claim.
+ * <p>
+ * Disabled unless {@code app.jwt.cache.enabled} is set: once cached, a token is accepted
+ * until its exp even if it is revoked earlier.
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final boolean enabled;
+    private final Cache<ByteBuffer, AuthenticatedUser> cache;
+
+    public VerifiedTokenCache(@Value("${app.jwt.cache.enabled:false}") boolean enabled,
+                              @Value("${app.jwt.cache.max-size:50000}") long maxSize,
+                              MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+
+        if (enabled) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway.verified-tokens");
+            log.info("Verified token cache enabled (max {} entries)", maxSize);
+        }
+    }
+
+    public AuthenticatedUser get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        AuthenticatedUser user = cache.getIfPresent(hash(token));
+        // Guard against expiry granularity: never serve a token past its exp
+        return user != null && user.expiresAtMillis() > System.currentTimeMillis() ? user : null;
+    }
+
+    public void put(String token, AuthenticatedUser user) {
+        if (enabled && user.expiresAtMillis() > System.currentTimeMillis()) {
+            cache.put(hash(token), user);
+        }
+    }
+
+    private static ByteBuffer hash(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<ByteBuffer, AuthenticatedUser> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, AuthenticatedUser user, long currentTime) {
+            long remainingMillis = user.expiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, AuthenticatedUser user, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, user, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, AuthenticatedUser user, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
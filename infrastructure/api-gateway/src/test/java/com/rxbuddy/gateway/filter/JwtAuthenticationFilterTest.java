@@ -0,0 +1,145 @@
+package com.rxbuddy.gateway.filter;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "gateway-test-secret-key-for-jwt-min-32-chars";
+
+    private VerifiedTokenCache tokenCache;
+    private JwtAuthenticationFilter filter;
+    private final AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.set(exchange);
+        return Mono.empty();
+    };
+
+    @BeforeEach
+    void setUp() {
+        tokenCache = new VerifiedTokenCache(true, 100, new SimpleMeterRegistry());
+        filter = new JwtAuthenticationFilter(SECRET, tokenCache);
+    }
+
+    @Test
+    void openEndpointsPassWithoutAToken() {
+        for (String path : new String[]{"/api/v1/auth/login", "/api/v1/auth/login/otp",
+                "/api/v1/auth/refresh", "/actuator/health"}) {
+            forwarded.set(null);
+            MockServerWebExchange exchange = exchange(MockServerHttpRequest.get(path));
+
+            filter.filter(exchange, chain).block();
+
+            assertThat(forwarded.get()).as(path).isNotNull();
+            assertThat(exchange.getResponse().getStatusCode()).as(path).isNull();
+        }
+    }
+
+    @Test
+    void pathsThatOnlyShareAPrefixWithAnOpenEndpointNeedAToken() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/auth/loginx"));
+
+        filter.filter(exchange, chain).block();
+
+        assertUnauthorized(exchange, "Missing Authorization header");
+    }
+
+    @Test
+    void rejectsMissingAndMalformedHeaders() {
+        MockServerWebExchange missing = exchange(MockServerHttpRequest.get("/api/v1/cards"));
+        filter.filter(missing, chain).block();
+        assertUnauthorized(missing, "Missing Authorization header");
+
+        MockServerWebExchange malformed = exchange(MockServerHttpRequest.get("/api/v1/cards")
+                .header(HttpHeaders.AUTHORIZATION, "Basic abc"));
+        filter.filter(malformed, chain).block();
+        assertUnauthorized(malformed, "Invalid Authorization header");
+    }
+
+    @Test
+    void preEncodedErrorBodyIsIntactOnEveryResponse() {
+        for (int i = 0; i < 3; i++) {
+            MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/cards")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer not-a-jwt"));
+
+            filter.filter(exchange, chain).block();
+
+            assertUnauthorized(exchange, "Invalid or expired token");
+        }
+        assertThat(forwarded.get()).isNull();
+    }
+
+    @Test
+    void forwardsUserHeadersAndCachesTheVerifiedToken() {
+        String token = token(SECRET, 60_000);
+
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/api/v1/cards")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+        filter.filter(first, chain).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertThat(headers.getFirst("X-User-Id")).isEqualTo("42");
+        assertThat(headers.getFirst("X-User-Phone")).isEqualTo("9000000001");
+        assertThat(headers.getFirst("X-Tenant-Id")).isEqualTo("7");
+        assertThat(headers.getFirst("X-User-Role")).isEqualTo("ADMIN");
+        assertThat(tokenCache.get(token)).isNotNull();
+
+        // A filter with another key would reject the token, so a pass proves the cache served it
+        JwtAuthenticationFilter otherKey = new JwtAuthenticationFilter(
+                "another-gateway-secret-key-for-jwt-min-32-ch", tokenCache);
+        forwarded.set(null);
+        otherKey.filter(exchange(MockServerHttpRequest.get("/api/v1/cards")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)), chain).block();
+        assertThat(forwarded.get()).isNotNull();
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/cards")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(SECRET, -1_000)));
+
+        filter.filter(exchange, chain).block();
+
+        assertUnauthorized(exchange, "Invalid or expired token");
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request);
+    }
+
+    private void assertUnauthorized(MockServerWebExchange exchange, String message) {
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(exchange.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(exchange.getResponse().getBodyAsString().block())
+                .isEqualTo("{\"success\":false,\"message\":\"" + message + "\"}");
+    }
+
+    private static String token(String secret, long validForMillis) {
+        return Jwts.builder()
+                .subject("42")
+                .claim("phone", "9000000001")
+                .claim("tenantId", 7L)
+                .claim("role", "ADMIN")
+                .claim("type", "access")
+                .expiration(new Date(System.currentTimeMillis() + validForMillis))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
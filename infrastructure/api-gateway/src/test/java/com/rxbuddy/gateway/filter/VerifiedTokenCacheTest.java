@@ -0,0 +1,75 @@
+package com.rxbuddy.gateway.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private static final long ONE_MINUTE = 60_000;
+
+    @Test
+    void returnsCachedUserForTheSameToken() {
+        VerifiedTokenCache cache = cache(true, 100);
+        AuthenticatedUser user = user(System.currentTimeMillis() + ONE_MINUTE);
+
+        cache.put("token-a", user);
+
+        assertThat(cache.get("token-a")).isEqualTo(user);
+        assertThat(cache.get("token-b")).isNull();
+    }
+
+    @Test
+    void cachesNothingWhenDisabled() {
+        VerifiedTokenCache cache = cache(false, 100);
+
+        cache.put("token-a", user(System.currentTimeMillis() + ONE_MINUTE));
+
+        assertThat(cache.get("token-a")).isNull();
+    }
+
+    @Test
+    void doesNotStoreAnAlreadyExpiredToken() {
+        VerifiedTokenCache cache = cache(true, 100);
+
+        cache.put("token-a", user(System.currentTimeMillis() - 1));
+
+        assertThat(cache.get("token-a")).isNull();
+    }
+
+    @Test
+    void stopsServingATokenAtItsExpiry() throws InterruptedException {
+        VerifiedTokenCache cache = cache(true, 100);
+        cache.put("token-a", user(System.currentTimeMillis() + 200));
+        assertThat(cache.get("token-a")).isNotNull();
+
+        Thread.sleep(300);
+
+        assertThat(cache.get("token-a")).isNull();
+    }
+
+    @Test
+    void staysWithinMaxSize() {
+        VerifiedTokenCache cache = cache(true, 10);
+        long expiresAt = System.currentTimeMillis() + ONE_MINUTE;
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.put("token-" + i, user(expiresAt));
+        }
+
+        Cache<?, ?> entries = (Cache<?, ?>) ReflectionTestUtils.getField(cache, "cache");
+        entries.cleanUp();
+        assertThat(entries.estimatedSize()).isLessThanOrEqualTo(10);
+    }
+
+    private static VerifiedTokenCache cache(boolean enabled, long maxSize) {
+        return new VerifiedTokenCache(enabled, maxSize, new SimpleMeterRegistry());
+    }
+
+    private static AuthenticatedUser user(long expiresAtMillis) {
+        return new AuthenticatedUser("42", "9000000001", "7", "ADMIN", expiresAtMillis);
+    }
+}
@@ -2,6 +2,7 @@ package com.rxbuddy.auth.client;
 
 import com.rxbuddy.common.dto.ApiResponse;
 import com.rxbuddy.common.dto.UserDTO;
+import com.rxbuddy.common.dto.UserLoginContextDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -24,5 +25,17 @@ public interface UserServiceClient {
             @PathVariable("tenantId") Long tenantId
     );
 
+    @GetMapping("/users/by-phone/{phone}/login-context")
+    ApiResponse<UserLoginContextDTO> getLoginContextByPhone(
+            @PathVariable("phone") String phone,
+            @RequestParam(value = "tenantId", required = false) Long tenantId
+    );
+
+    @GetMapping("/users/{id}/login-context")
+    ApiResponse<UserLoginContextDTO> getLoginContextById(
+            @PathVariable("id") Long userId,
+            @RequestParam(value = "tenantId", required = false) Long tenantId
+    );
+
     record UserTenantDTO(Long tenantId, String tenantName, String role) {}
 }
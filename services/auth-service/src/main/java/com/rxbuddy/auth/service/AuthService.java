@@ -7,7 +7,9 @@ import com.rxbuddy.auth.dto.RefreshTokenRequest;
 import com.rxbuddy.auth.exception.AuthenticationException;
 import com.rxbuddy.common.dto.ApiResponse;
 import com.rxbuddy.common.dto.UserDTO;
+import com.rxbuddy.common.dto.UserLoginContextDTO;
 import com.rxbuddy.common.security.JwtUtil;
+import com.rxbuddy.common.security.VerifiedToken;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -28,14 +30,16 @@ public class AuthService {
     public LoginResponse login(LoginRequest request) {
         log.info("Login attempt for phone: {}", request.getPhone());
 
-        // Get user from user-service
-        ApiResponse<UserDTO> userResponse = userServiceClient.findByPhone(request.getPhone());
+        // Get user, tenants and (if selectable) permissions from user-service in one call
+        ApiResponse<UserLoginContextDTO> contextResponse =
+                userServiceClient.getLoginContextByPhone(request.getPhone(), request.getTenantId());
 
-        if (!userResponse.isSuccess() || userResponse.getData() == null) {
+        if (!contextResponse.isSuccess() || contextResponse.getData() == null) {
             throw new AuthenticationException("Invalid phone number or password");
         }
 
-        UserDTO user = userResponse.getData();
+        UserLoginContextDTO context = contextResponse.getData();
+        UserDTO user = context.getUser();
 
         // Validate password
         if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
@@ -47,146 +51,102 @@ public class AuthService {
             throw new AuthenticationException("Account is deactivated");
         }
 
-        // Get user's tenants
-        ApiResponse<List<UserServiceClient.UserTenantDTO>> tenantsResponse =
-                userServiceClient.getUserTenants(user.getId());
-
-        List<UserServiceClient.UserTenantDTO> tenants = tenantsResponse.getData();
+        List<UserLoginContextDTO.TenantMembership> tenants = context.getTenants();
 
         if (tenants == null || tenants.isEmpty()) {
             throw new AuthenticationException("User is not associated with any tenant");
         }
 
-        // Determine which tenant to use
-        Long selectedTenantId;
-        String selectedRole;
-        String selectedTenantName;
-
-        if (request.getTenantId() != null) {
-            // User specified a tenant
-            UserServiceClient.UserTenantDTO selectedTenant = tenants.stream()
-                    .filter(t -> t.tenantId().equals(request.getTenantId()))
-                    .findFirst()
-                    .orElseThrow(() -> new AuthenticationException("User is not associated with the specified tenant"));
-
-            selectedTenantId = selectedTenant.tenantId();
-            selectedRole = selectedTenant.role();
-            selectedTenantName = selectedTenant.tenantName();
-        } else if (tenants.size() == 1) {
-            // Only one tenant, use it
-            UserServiceClient.UserTenantDTO tenant = tenants.get(0);
-            selectedTenantId = tenant.tenantId();
-            selectedRole = tenant.role();
-            selectedTenantName = tenant.tenantName();
-        } else {
+        if (!context.hasSelectedTenant()) {
+            if (request.getTenantId() != null) {
+                throw new AuthenticationException("User is not associated with the specified tenant");
+            }
+
             // Multiple tenants - return list for selection (no token yet)
             return LoginResponse.builder()
                     .availableTenants(tenants.stream()
                             .map(t -> LoginResponse.TenantInfo.builder()
-                                    .id(t.tenantId())
-                                    .name(t.tenantName())
-                                    .role(t.role())
+                                    .id(t.getTenantId())
+                                    .name(t.getTenantName())
+                                    .role(t.getRole())
                                     .build())
                             .collect(Collectors.toList()))
                     .build();
         }
 
-        // Get full user context with permissions
-        ApiResponse<UserDTO> fullUserResponse =
-                userServiceClient.getUserWithTenantContext(user.getId(), selectedTenantId);
-
-        UserDTO fullUser = fullUserResponse.getData();
-
-        // Generate tokens
-        String accessToken = jwtUtil.generateAccessToken(
-                user.getId(),
-                user.getPhone(),
-                selectedTenantId,
-                selectedRole,
-                fullUser.getPermissions()
-        );
-
-        String refreshToken = jwtUtil.generateRefreshToken(user.getId());
-
-        return LoginResponse.builder()
-                .accessToken(accessToken)
-                .refreshToken(refreshToken)
-                .tokenType("Bearer")
-                .expiresIn(jwtUtil.getExpirationTime() / 1000)
-                .user(LoginResponse.UserInfo.builder()
-                        .id(user.getId())
-                        .name(user.getName())
-                        .phone(user.getPhone())
-                        .email(user.getEmail())
-                        .tenantId(selectedTenantId)
-                        .tenantName(selectedTenantName)
-                        .role(selectedRole)
-                        .permissions(fullUser.getPermissions())
-                        .build())
-                .build();
+        return buildTokenResponse(user, tenantName(tenants, user.getTenantId()));
     }
 
     public LoginResponse refreshToken(RefreshTokenRequest request) {
         String refreshToken = request.getRefreshToken();
 
-        // Validate refresh token
-        if (!jwtUtil.validateToken(refreshToken)) {
-            throw new AuthenticationException("Invalid or expired refresh token");
-        }
+        // Validate refresh token (signature is checked once for all claims)
+        VerifiedToken token = jwtUtil.verify(refreshToken)
+                .orElseThrow(() -> new AuthenticationException("Invalid or expired refresh token"));
 
         // Check token type
-        String tokenType = jwtUtil.extractTokenType(refreshToken);
-        if (!"refresh".equals(tokenType)) {
+        if (!token.isRefreshToken()) {
             throw new AuthenticationException("Invalid token type");
         }
 
         // Get user ID from token
-        Long userId = jwtUtil.extractUserId(refreshToken);
+        Long userId = token.getUserId();
 
-        // Get user details (we need to re-fetch as permissions might have changed)
+        // Re-fetch the login context as permissions might have changed
         // This is simplified - in production, you'd also verify the refresh token in Redis
-        ApiResponse<List<UserServiceClient.UserTenantDTO>> tenantsResponse =
-                userServiceClient.getUserTenants(userId);
+        ApiResponse<UserLoginContextDTO> contextResponse = userServiceClient.getLoginContextById(userId, null);
 
-        if (!tenantsResponse.isSuccess() || tenantsResponse.getData() == null || tenantsResponse.getData().isEmpty()) {
+        if (!contextResponse.isSuccess() || contextResponse.getData() == null
+                || contextResponse.getData().getTenants() == null || contextResponse.getData().getTenants().isEmpty()) {
             throw new AuthenticationException("User not found or has no tenants");
         }
 
-        // Use the first tenant for now (simplified)
-        UserServiceClient.UserTenantDTO tenant = tenantsResponse.getData().get(0);
+        UserLoginContextDTO context = contextResponse.getData();
+        UserDTO user = context.getUser();
 
-        // Get full user context
-        ApiResponse<UserDTO> userResponse =
-                userServiceClient.getUserWithTenantContext(userId, tenant.tenantId());
+        if (!context.hasSelectedTenant()) {
+            // Use the first tenant for now (simplified); only multi-tenant users pay a second call
+            Long tenantId = context.getTenants().get(0).getTenantId();
+            user = userServiceClient.getUserWithTenantContext(userId, tenantId).getData();
+        }
 
-        UserDTO user = userResponse.getData();
+        return buildTokenResponse(user, tenantName(context.getTenants(), user.getTenantId()));
+    }
 
-        // Generate new tokens
-        String newAccessToken = jwtUtil.generateAccessToken(
-                userId,
+    private LoginResponse buildTokenResponse(UserDTO user, String tenantName) {
+        String accessToken = jwtUtil.generateAccessToken(
+                user.getId(),
                 user.getPhone(),
-                tenant.tenantId(),
-                tenant.role(),
+                user.getTenantId(),
+                user.getRole(),
                 user.getPermissions()
         );
 
-        String newRefreshToken = jwtUtil.generateRefreshToken(userId);
+        String refreshToken = jwtUtil.generateRefreshToken(user.getId());
 
         return LoginResponse.builder()
-                .accessToken(newAccessToken)
-                .refreshToken(newRefreshToken)
+                .accessToken(accessToken)
+                .refreshToken(refreshToken)
                 .tokenType("Bearer")
                 .expiresIn(jwtUtil.getExpirationTime() / 1000)
                 .user(LoginResponse.UserInfo.builder()
-                        .id(userId)
+                        .id(user.getId())
                         .name(user.getName())
                         .phone(user.getPhone())
                         .email(user.getEmail())
-                        .tenantId(tenant.tenantId())
-                        .tenantName(tenant.tenantName())
-                        .role(tenant.role())
+                        .tenantId(user.getTenantId())
+                        .tenantName(tenantName)
+                        .role(user.getRole())
                         .permissions(user.getPermissions())
                         .build())
                 .build();
     }
+
+    private String tenantName(List<UserLoginContextDTO.TenantMembership> tenants, Long tenantId) {
+        return tenants.stream()
+                .filter(t -> t.getTenantId().equals(tenantId))
+                .map(UserLoginContextDTO.TenantMembership::getTenantName)
+                .findFirst()
+                .orElse(null);
+    }
 }
@@ -0,0 +1,131 @@
+package com.rxbuddy.card.cache;
+
+import com.rxbuddy.card.entity.Promotion;
+import com.rxbuddy.card.util.PointsMath;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Points for one bill under a tenant's promotions: the compiled {@link PromotionEvaluator}
+ * (rates resolved once per bill, one lookup per line) against scanning every promotion for
+ * every line. Rules are a seeded mix of all-category and category multipliers and bonuses,
+ * some time-windowed or limited to certain days.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromotionEvaluatorBenchmark {
+
+    private static final int CATEGORIES = 60;
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 17, 18, 30);
+
+    @Param({"1", "10", "100"})
+    public int lines;
+
+    @Param({"0", "10", "100", "500"})
+    public int rules;
+
+    private List<Promotion> promotions;
+    private PromotionEvaluator evaluator;
+    private CardConfigSnapshot config;
+    private Long[] categoryIds;
+    private BigDecimal[] amounts;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(20261017L);
+        promotions = new ArrayList<>(rules);
+        for (int i = 0; i < rules; i++) {
+            promotions.add(promotion(random));
+        }
+        evaluator = PromotionEvaluator.compile(promotions);
+
+        Map<Long, Long> pointPercentages = new HashMap<>();
+        for (long category = 0; category < CATEGORIES; category += 2) {
+            pointPercentages.put(category, 100L + random.nextInt(400));
+        }
+        config = CardConfigSnapshot.builder()
+                .pointPercentages(Map.copyOf(pointPercentages))
+                .discountPercentages(Map.of())
+                .build();
+
+        categoryIds = new Long[lines];
+        amounts = new BigDecimal[lines];
+        for (int i = 0; i < lines; i++) {
+            categoryIds[i] = random.nextInt(10) == 0 ? null : (long) random.nextInt(CATEGORIES);
+            amounts[i] = BigDecimal.valueOf(random.nextInt(500_000), 2);
+        }
+    }
+
+    @Benchmark
+    public long compiled() {
+        PromotionEvaluator.Rates rates = evaluator.at(NOW);
+        long points = 0;
+        for (int i = 0; i < lines; i++) {
+            points += config.linePoints(amounts[i], categoryIds[i], PointsMath.ONE, rates);
+        }
+        return points;
+    }
+
+    @Benchmark
+    public long scanPerLine() {
+        long points = 0;
+        for (int i = 0; i < lines; i++) {
+            long multiplier = PointsMath.ONE;
+            long bonus = 0;
+            for (Promotion promotion : promotions) {
+                if (!appliesTo(promotion, categoryIds[i])) {
+                    continue;
+                }
+                long value = PointsMath.toHundredths(promotion.getPromotionValue());
+                if (promotion.getPromotionType() == Promotion.PromotionType.MULTIPLIER) {
+                    multiplier = Math.max(multiplier, value);
+                } else {
+                    bonus += value;
+                }
+            }
+            points += PointsMath.points(amounts[i], config.pointPercentage(categoryIds[i]), PointsMath.ONE,
+                    multiplier, bonus);
+        }
+        return points;
+    }
+
+    private static boolean appliesTo(Promotion promotion, Long categoryId) {
+        if (promotion.getCategoryId() != null && !promotion.getCategoryId().equals(categoryId)) {
+            return false;
+        }
+        if (NOW.isBefore(promotion.getStartsAt()) || (promotion.getEndsAt() != null && !NOW.isBefore(promotion.getEndsAt()))) {
+            return false;
+        }
+        return promotion.getDaysOfWeek() == null || Promotion.fromDayMask(promotion.getDaysOfWeek()).contains(NOW.getDayOfWeek());
+    }
+
+    private static Promotion promotion(Random random) {
+        boolean multiplier = random.nextBoolean();
+        int window = random.nextInt(4);
+        return Promotion.builder()
+                .tenantId(1L)
+                .name("Rule")
+                .promotionType(multiplier ? Promotion.PromotionType.MULTIPLIER : Promotion.PromotionType.BONUS_PERCENT)
+                .promotionValue(multiplier ? BigDecimal.valueOf(150 + random.nextInt(151), 2)
+                        : BigDecimal.valueOf(50 + random.nextInt(451), 2))
+                .categoryId(random.nextInt(5) == 0 ? null : (long) random.nextInt(CATEGORIES))
+                .startsAt(window == 0 ? NOW.plusDays(1) : NOW.minusDays(7))
+                .endsAt(window == 1 ? NOW.minusHours(1) : window == 2 ? NOW.plusDays(7) : null)
+                .daysOfWeek(random.nextInt(3) == 0 ? Promotion.toDayMask(Set.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY)) : null)
+                .build();
+    }
+}
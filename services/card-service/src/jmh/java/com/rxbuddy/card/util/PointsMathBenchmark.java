@@ -0,0 +1,69 @@
+package com.rxbuddy.card.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Points and discount for every line of a 100-line bill: the scaled-long {@link PointsMath}
+ * against the {@code BigDecimal} chain it replaced, which allocated a new divisor and
+ * several intermediates per line. Run with {@code -prof gc} for the allocation per bill.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PointsMathBenchmark {
+
+    private static final int LINES = 100;
+
+    private final BigDecimal[] amounts = new BigDecimal[LINES];
+    private final long[] percents = new long[LINES];
+    private final long[] discounts = new long[LINES];
+    private final long tier = 150;
+    private final long promotion = 200;
+    private final long bonus = 50;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(20261018L);
+        for (int i = 0; i < LINES; i++) {
+            amounts[i] = BigDecimal.valueOf(random.nextInt(500_000), 2);
+            percents[i] = 100 + random.nextInt(400);
+            discounts[i] = random.nextInt(3) == 0 ? 500 + random.nextInt(1_000) : 0;
+        }
+    }
+
+    @Benchmark
+    public long scaledLong() {
+        long total = 0;
+        for (int i = 0; i < LINES; i++) {
+            total += PointsMath.points(amounts[i], percents[i], tier, promotion, bonus);
+            total += PointsMath.percentOf(amounts[i], discounts[i]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal decimalChain() {
+        BigDecimal total = BigDecimal.ZERO;
+        BigDecimal tierMultiplier = BigDecimal.valueOf(tier, 2);
+        BigDecimal promotionMultiplier = BigDecimal.valueOf(promotion, 2);
+        BigDecimal bonusPercent = BigDecimal.valueOf(bonus, 2);
+        for (int i = 0; i < LINES; i++) {
+            BigDecimal rate = BigDecimal.valueOf(percents[i], 2)
+                    .multiply(tierMultiplier)
+                    .multiply(promotionMultiplier)
+                    .add(bonusPercent);
+            total = total.add(amounts[i].multiply(rate).divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP));
+            total = total.add(amounts[i].multiply(BigDecimal.valueOf(discounts[i], 2))
+                    .divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP));
+        }
+        return total;
+    }
+}
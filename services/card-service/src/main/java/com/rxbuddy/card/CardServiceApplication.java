@@ -5,7 +5,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 
-@SpringBootApplication
+@SpringBootApplication(scanBasePackages = {"com.rxbuddy.card", "com.rxbuddy.common.datasource"})
 @EnableDiscoveryClient
 @EnableFeignClients
 public class CardServiceApplication {
@@ -0,0 +1,70 @@
+package com.rxbuddy.card.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.rxbuddy.card.repository.CardConfigurationRepository;
+import com.rxbuddy.card.repository.CategoryDiscountRepository;
+import com.rxbuddy.card.repository.CategoryPointConfigRepository;
+import com.rxbuddy.card.repository.PromotionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Bounded per-tenant cache of {@link CardConfigSnapshot}s.
+ * Entries are invalidated on configuration writes (locally and across replicas);
+ * the TTL only guards against a missed invalidation broadcast.
+ */
+@Slf4j
+@Component
+public class CardConfigCache {
+
+    private final CardConfigurationRepository configRepository;
+    private final CategoryPointConfigRepository categoryPointRepository;
+    private final CategoryDiscountRepository categoryDiscountRepository;
+    private final PromotionRepository promotionRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final LoadingCache<Long, CardConfigSnapshot> snapshots;
+
+    public CardConfigCache(CardConfigurationRepository configRepository,
+                           CategoryPointConfigRepository categoryPointRepository,
+                           CategoryDiscountRepository categoryDiscountRepository,
+                           PromotionRepository promotionRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.card.config-cache.max-size:10000}") long maxSize,
+                           @Value("${app.card.config-cache.ttl:10m}") Duration ttl) {
+        this.configRepository = configRepository;
+        this.categoryPointRepository = categoryPointRepository;
+        this.categoryDiscountRepository = categoryDiscountRepository;
+        this.promotionRepository = promotionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build(this::load);
+    }
+
+    public CardConfigSnapshot get(Long tenantId) {
+        return snapshots.get(tenantId);
+    }
+
+    public void invalidate(Long tenantId) {
+        snapshots.invalidate(tenantId);
+        log.debug("Invalidated card configuration snapshot for tenant {}", tenantId);
+    }
+
+    private CardConfigSnapshot load(Long tenantId) {
+        return readOnlyTransaction.execute(status -> CardConfigSnapshot.of(
+                tenantId,
+                configRepository.findByTenantId(tenantId).orElse(null),
+                categoryPointRepository.findByTenantIdAndIsActiveTrue(tenantId),
+                categoryDiscountRepository.findByTenantIdAndIsActiveTrue(tenantId),
+                promotionRepository.findCurrentAndUpcoming(tenantId, LocalDateTime.now())));
+    }
+}
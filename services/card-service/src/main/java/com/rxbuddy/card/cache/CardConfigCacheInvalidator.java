@@ -0,0 +1,21 @@
+package com.rxbuddy.card.cache;
+
+import com.rxbuddy.card.messaging.CardConfigEventPublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class CardConfigCacheInvalidator {
+
+    private final CardConfigCache configCache;
+    private final ObjectProvider<CardConfigEventPublisher> eventPublisher;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConfigChanged(CardConfigChangedEvent event) {
+        configCache.invalidate(event.tenantId());
+        eventPublisher.ifAvailable(publisher -> publisher.publishConfigUpdated(event.tenantId()));
+    }
+}
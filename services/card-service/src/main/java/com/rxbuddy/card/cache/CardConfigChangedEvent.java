@@ -0,0 +1,8 @@
+package com.rxbuddy.card.cache;
+
+/**
+ * Published inside a configuration write transaction; the cached snapshot
+ * is dropped once that transaction commits.
+ */
+public record CardConfigChangedEvent(Long tenantId) {
+}
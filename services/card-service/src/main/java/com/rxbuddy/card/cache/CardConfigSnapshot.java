@@ -0,0 +1,110 @@
+package com.rxbuddy.card.cache;
+
+import com.rxbuddy.card.entity.CardConfiguration;
+import com.rxbuddy.card.entity.CategoryDiscount;
+import com.rxbuddy.card.entity.CategoryPointConfig;
+import com.rxbuddy.card.entity.Promotion;
+import com.rxbuddy.card.util.PointsMath;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, read-only view of a tenant's card configuration and category point percentages.
+ * Built once per tenant and shared by all requests until the configuration changes. Category
+ * percentages are held in hundredths for {@link PointsMath}.
+ */
+@Value
+@Builder
+public class CardConfigSnapshot {
+
+    public static final BigDecimal DEFAULT_POINT_PERCENTAGE = new BigDecimal("1.00");
+    private static final Long DEFAULT_POINT_HUNDREDTHS = PointsMath.toHundredths(DEFAULT_POINT_PERCENTAGE);
+    private static final Long NO_DISCOUNT = 0L;
+
+    Long tenantId;
+    boolean configured;
+    boolean enabled;
+    BigDecimal pointsToAmountRate;
+    BigDecimal maxRedemptionPercent;
+    Integer minPointsToRedeem;
+    BigDecimal referralPointsPercent;
+    boolean referralEnabled;
+    Integer pointsExpiryMonths;
+    TierRules tierRules;
+    PromotionEvaluator promotions;
+    Map<Long, Long> pointPercentages;
+    Map<Long, Long> discountPercentages;
+
+    public long pointPercentage(Long categoryId) {
+        return categoryId != null ? pointPercentages.getOrDefault(categoryId, DEFAULT_POINT_HUNDREDTHS)
+                : DEFAULT_POINT_HUNDREDTHS;
+    }
+
+    public long discountPercentage(Long categoryId) {
+        return categoryId != null ? discountPercentages.getOrDefault(categoryId, NO_DISCOUNT) : NO_DISCOUNT;
+    }
+
+    public BigDecimal getPointPercentage(Long categoryId) {
+        return PointsMath.toDecimal(pointPercentage(categoryId));
+    }
+
+    /**
+     * Category discount on a bill line, in hundredths.
+     */
+    public long lineDiscount(BigDecimal amount, Long categoryId) {
+        return PointsMath.percentOf(amount, discountPercentage(categoryId));
+    }
+
+    /**
+     * Points for a bill line, in hundredths: the category percentage scaled by the tier
+     * (in hundredths) and promotion multipliers, plus any promotion bonus percent, applied
+     * to the line amount as billed. Category discounts do not reduce it. Both earning and the
+     * POS calculation price lines here, so a preview matches what the bill is credited.
+     */
+    public long linePoints(BigDecimal amount, Long categoryId, long tierMultiplier,
+                           PromotionEvaluator.Rates promotions) {
+        PromotionEvaluator.Rate promotion = promotions.rate(categoryId);
+        return PointsMath.points(amount, pointPercentage(categoryId), tierMultiplier,
+                promotion.multiplier(), promotion.bonusPercent());
+    }
+
+    static CardConfigSnapshot of(Long tenantId, CardConfiguration config, List<CategoryPointConfig> pointConfigs,
+                                 List<CategoryDiscount> discounts, List<Promotion> promotions) {
+        if (config == null) {
+            return CardConfigSnapshot.builder()
+                    .tenantId(tenantId)
+                    .configured(false)
+                    .enabled(false)
+                    .tierRules(TierRules.DISABLED)
+                    .promotions(PromotionEvaluator.NONE)
+                    .pointPercentages(Map.of())
+                    .discountPercentages(Map.of())
+                    .build();
+        }
+
+        return CardConfigSnapshot.builder()
+                .tenantId(tenantId)
+                .configured(true)
+                .enabled(Boolean.TRUE.equals(config.getIsEnabled()))
+                .pointsToAmountRate(config.getPointsToAmountRate())
+                .maxRedemptionPercent(config.getMaxRedemptionPercent())
+                .minPointsToRedeem(config.getMinPointsToRedeem())
+                .referralPointsPercent(config.getReferralPointsPercent())
+                .referralEnabled(Boolean.TRUE.equals(config.getReferralEnabled()))
+                .pointsExpiryMonths(config.getPointsExpiryMonths())
+                .tierRules(TierRules.of(config))
+                .promotions(PromotionEvaluator.compile(promotions))
+                .pointPercentages(Map.copyOf(pointConfigs.stream()
+                        .collect(Collectors.toMap(CategoryPointConfig::getCategoryId,
+                                c -> PointsMath.toHundredths(c.getPointPercentage())))))
+                .discountPercentages(Map.copyOf(discounts.stream()
+                        .collect(Collectors.toMap(CategoryDiscount::getCategoryId,
+                                d -> PointsMath.toHundredths(d.getDiscountPercentage())))))
+                .build();
+    }
+}
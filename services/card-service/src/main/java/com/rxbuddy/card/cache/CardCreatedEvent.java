@@ -0,0 +1,7 @@
+package com.rxbuddy.card.cache;
+
+/**
+ * Published when a card is issued; indexes update once the transaction commits.
+ */
+public record CardCreatedEvent(Long tenantId, Long cardId, String customerName) {
+}
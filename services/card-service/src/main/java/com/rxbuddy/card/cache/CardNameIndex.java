@@ -0,0 +1,155 @@
+package com.rxbuddy.card.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.rxbuddy.card.repository.LoyaltyCardRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over customer names, one per tenant, for POS type-ahead.
+ * A tenant's index is built on its first search and kept in sync with cards created
+ * on this instance; the TTL rebuild picks up cards created on other replicas.
+ */
+@Slf4j
+@Component
+public class CardNameIndex {
+
+    private static final int GRAM = 3;
+
+    private final LoyaltyCardRepository cardRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final LoadingCache<Long, TenantIndex> indexes;
+
+    public CardNameIndex(LoyaltyCardRepository cardRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${app.card.name-index.max-tenants:200}") long maxTenants,
+                         @Value("${app.card.name-index.ttl:30m}") Duration ttl) {
+        this.cardRepository = cardRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxTenants)
+                .expireAfterWrite(ttl)
+                .build(this::build);
+    }
+
+    /**
+     * Ids of the tenant's cards whose name contains {@code term} (case-insensitive),
+     * newest first, at most {@code limit}.
+     */
+    public List<Long> search(Long tenantId, String term, int limit) {
+        return indexes.get(tenantId).search(term.toLowerCase(Locale.ROOT), limit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCardCreated(CardCreatedEvent event) {
+        TenantIndex index = indexes.getIfPresent(event.tenantId());
+        if (index != null) {
+            index.add(event.cardId(), event.customerName());
+        }
+    }
+
+    private TenantIndex build(Long tenantId) {
+        TenantIndex index = new TenantIndex();
+        readOnlyTransaction.executeWithoutResult(status -> cardRepository.findCardNames(tenantId)
+                .forEach(card -> index.add(card.getId(), card.getCustomerName())));
+        log.debug("Built card name index for tenant {} with {} cards", tenantId, index.size);
+        return index;
+    }
+
+    /**
+     * Cards are stored in arrays by position; each trigram maps to the ascending
+     * positions of the names containing it.
+     */
+    private static final class TenantIndex {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<String, Postings> postings = new HashMap<>();
+        private long[] cardIds = new long[1024];
+        private String[] names = new String[1024];
+        private int size;
+
+        void add(Long cardId, String customerName) {
+            String name = customerName == null ? "" : customerName.toLowerCase(Locale.ROOT);
+            lock.writeLock().lock();
+            try {
+                if (size == cardIds.length) {
+                    cardIds = Arrays.copyOf(cardIds, size * 2);
+                    names = Arrays.copyOf(names, size * 2);
+                }
+                int position = size++;
+                cardIds[position] = cardId;
+                names[position] = name;
+
+                Set<String> grams = new HashSet<>();
+                for (int i = 0; i + GRAM <= name.length(); i++) {
+                    grams.add(name.substring(i, i + GRAM));
+                }
+                for (String gram : grams) {
+                    postings.computeIfAbsent(gram, g -> new Postings()).add(position);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<Long> search(String term, int limit) {
+            lock.readLock().lock();
+            try {
+                Postings candidates = term.length() < GRAM ? null : shortestPostings(term);
+                if (term.length() >= GRAM && candidates == null) {
+                    return List.of();
+                }
+
+                // Candidates are verified against the full name, newest first
+                Set<Long> matches = new LinkedHashSet<>();
+                int count = candidates == null ? size : candidates.size;
+                for (int i = count - 1; i >= 0 && matches.size() < limit; i--) {
+                    int position = candidates == null ? i : candidates.positions[i];
+                    if (names[position].contains(term)) {
+                        matches.add(cardIds[position]);
+                    }
+                }
+                return new ArrayList<>(matches);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private Postings shortestPostings(String term) {
+            Postings shortest = null;
+            for (int i = 0; i + GRAM <= term.length(); i++) {
+                Postings list = postings.get(term.substring(i, i + GRAM));
+                if (list == null) {
+                    return null;
+                }
+                if (shortest == null || list.size < shortest.size) {
+                    shortest = list;
+                }
+            }
+            return shortest;
+        }
+    }
+
+    private static final class Postings {
+        private int[] positions = new int[4];
+        private int size;
+
+        void add(int position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.rxbuddy.card.cache;
+
+import com.rxbuddy.card.entity.Promotion;
+import com.rxbuddy.card.util.PointsMath;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * A tenant's promotions compiled into an immutable index: rules for every category in one
+ * array, category-specific rules in arrays keyed by category. {@link #at} resolves the rules
+ * in force at a moment into per-category {@link Rate}s once per bill, so each bill line is a
+ * single map lookup.
+ */
+public final class PromotionEvaluator {
+
+    public static final PromotionEvaluator NONE = new PromotionEvaluator(new Rule[0], Map.of());
+
+    private final Rule[] allCategories;
+    private final Map<Long, Rule[]> byCategory;
+
+    private PromotionEvaluator(Rule[] allCategories, Map<Long, Rule[]> byCategory) {
+        this.allCategories = allCategories;
+        this.byCategory = byCategory;
+    }
+
+    public static PromotionEvaluator compile(List<Promotion> promotions) {
+        if (promotions.isEmpty()) {
+            return NONE;
+        }
+
+        List<Rule> allCategories = new ArrayList<>();
+        Map<Long, List<Rule>> byCategory = new HashMap<>();
+        for (Promotion promotion : promotions) {
+            Rule rule = Rule.of(promotion);
+            if (promotion.getCategoryId() == null) {
+                allCategories.add(rule);
+            } else {
+                byCategory.computeIfAbsent(promotion.getCategoryId(), id -> new ArrayList<>()).add(rule);
+            }
+        }
+
+        Map<Long, Rule[]> index = new HashMap<>(byCategory.size() * 2);
+        byCategory.forEach((categoryId, rules) -> index.put(categoryId, rules.toArray(Rule[]::new)));
+        return new PromotionEvaluator(allCategories.toArray(Rule[]::new), Map.copyOf(index));
+    }
+
+    public boolean isEmpty() {
+        return allCategories.length == 0 && byCategory.isEmpty();
+    }
+
+    /**
+     * Rates in force at {@code time}, for every category.
+     */
+    public Rates at(LocalDateTime time) {
+        if (isEmpty()) {
+            return Rates.NONE;
+        }
+
+        Rate everyCategory = apply(Rate.NONE, allCategories, time);
+        Map<Long, Rate> categories = new HashMap<>();
+        byCategory.forEach((categoryId, rules) -> {
+            Rate rate = apply(everyCategory, rules, time);
+            if (rate != everyCategory) {
+                categories.put(categoryId, rate);
+            }
+        });
+        return new Rates(everyCategory, categories);
+    }
+
+    private static Rate apply(Rate base, Rule[] rules, LocalDateTime time) {
+        Rate rate = base;
+        for (Rule rule : rules) {
+            if (rule.activeAt(time)) {
+                rate = rule.applyTo(rate);
+            }
+        }
+        return rate;
+    }
+
+    /**
+     * Points multiplier (highest applicable wins) and bonus percent of the line amount
+     * (applicable bonuses add up), both in hundredths as {@link PointsMath} takes them.
+     */
+    public record Rate(long multiplier, long bonusPercent) {
+
+        public static final Rate NONE = new Rate(PointsMath.ONE, 0);
+    }
+
+    public record Rates(Rate everyCategory, Map<Long, Rate> categories) {
+
+        public static final Rates NONE = new Rates(Rate.NONE, Map.of());
+
+        public Rate rate(Long categoryId) {
+            Rate rate = categoryId != null ? categories.get(categoryId) : null;
+            return rate != null ? rate : everyCategory;
+        }
+    }
+
+    private record Rule(Promotion.PromotionType type, long value, LocalDateTime startsAt,
+                        LocalDateTime endsAt, int dayMask) {
+
+        static Rule of(Promotion promotion) {
+            return new Rule(promotion.getPromotionType(), PointsMath.toHundredths(promotion.getPromotionValue()),
+                    promotion.getStartsAt(),
+                    promotion.getEndsAt(), promotion.getDaysOfWeek() != null ? promotion.getDaysOfWeek() : 0x7F);
+        }
+
+        boolean activeAt(LocalDateTime time) {
+            return !time.isBefore(startsAt)
+                    && (endsAt == null || time.isBefore(endsAt))
+                    && (dayMask & (1 << (time.getDayOfWeek().getValue() - 1))) != 0;
+        }
+
+        Rate applyTo(Rate rate) {
+            return switch (type) {
+                case MULTIPLIER -> value > rate.multiplier()
+                        ? new Rate(value, rate.bonusPercent()) : rate;
+                case BONUS_PERCENT -> new Rate(rate.multiplier(), rate.bonusPercent() + value);
+            };
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.rxbuddy.card.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rxbuddy.card.dto.EarnPointsResponse;
+import com.rxbuddy.card.dto.RedeemPointsResponse;
+import com.rxbuddy.card.entity.PointTransaction.TransactionType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Responses of recently committed earn/redeem calls, keyed by (tenant, type, bill).
+ * Billing retries after a timeout are answered from here without touching the database;
+ * anything older falls through to the unique key on point_transactions.
+ */
+@Component
+public class RecentBillCache {
+
+    private final Cache<BillKey, Object> responses;
+
+    public RecentBillCache(@Value("${app.card.recent-bills.max-size:100000}") long maxSize,
+                           @Value("${app.card.recent-bills.ttl:1h}") Duration ttl) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public EarnPointsResponse getEarned(Long tenantId, Long billId) {
+        return (EarnPointsResponse) responses.getIfPresent(new BillKey(tenantId, TransactionType.EARNED, billId));
+    }
+
+    public void putEarned(Long tenantId, Long billId, EarnPointsResponse response) {
+        responses.put(new BillKey(tenantId, TransactionType.EARNED, billId), response);
+    }
+
+    public RedeemPointsResponse getRedeemed(Long tenantId, Long billId) {
+        return (RedeemPointsResponse) responses.getIfPresent(new BillKey(tenantId, TransactionType.REDEEMED, billId));
+    }
+
+    public void putRedeemed(Long tenantId, Long billId, RedeemPointsResponse response) {
+        responses.put(new BillKey(tenantId, TransactionType.REDEEMED, billId), response);
+    }
+
+    private record BillKey(Long tenantId, TransactionType type, Long billId) {}
+}
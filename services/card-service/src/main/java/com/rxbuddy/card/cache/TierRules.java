@@ -0,0 +1,77 @@
+package com.rxbuddy.card.cache;
+
+import com.rxbuddy.card.entity.CardConfiguration;
+import com.rxbuddy.card.entity.LoyaltyCard;
+import com.rxbuddy.card.util.PointsMath;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A tenant's tier thresholds and multipliers. A card's tier follows from its spend in the
+ * current or previous tier period, so promotion happens on the purchase that crosses a
+ * threshold and a tier lapses after a full period below it, without any recompute.
+ */
+@Value
+@Builder
+public class TierRules {
+
+    public static final TierRules DISABLED = TierRules.builder()
+            .enabled(false)
+            .periodMonths(12)
+            .build();
+
+    boolean enabled;
+    int periodMonths;
+    BigDecimal silverSpendThreshold;
+    BigDecimal goldSpendThreshold;
+    long silverPointsMultiplier;
+    long goldPointsMultiplier;
+
+    /**
+     * Tier periods are counted from year 0, so consecutive periods differ by one.
+     */
+    public int periodOf(LocalDate date) {
+        return (date.getYear() * 12 + date.getMonthValue() - 1) / periodMonths;
+    }
+
+    public LoyaltyCard.Tier tierFor(BigDecimal qualifyingSpend) {
+        if (!enabled) {
+            return LoyaltyCard.Tier.BRONZE;
+        }
+        if (qualifyingSpend.compareTo(goldSpendThreshold) >= 0) {
+            return LoyaltyCard.Tier.GOLD;
+        }
+        if (qualifyingSpend.compareTo(silverSpendThreshold) >= 0) {
+            return LoyaltyCard.Tier.SILVER;
+        }
+        return LoyaltyCard.Tier.BRONZE;
+    }
+
+    /**
+     * Points multiplier for {@code tier}, in hundredths.
+     */
+    public long multiplier(LoyaltyCard.Tier tier) {
+        if (!enabled) {
+            return PointsMath.ONE;
+        }
+        return switch (tier) {
+            case GOLD -> goldPointsMultiplier;
+            case SILVER -> silverPointsMultiplier;
+            case BRONZE -> PointsMath.ONE;
+        };
+    }
+
+    static TierRules of(CardConfiguration config) {
+        return TierRules.builder()
+                .enabled(Boolean.TRUE.equals(config.getTiersEnabled()))
+                .periodMonths(config.getTierPeriodMonths())
+                .silverSpendThreshold(config.getSilverSpendThreshold())
+                .goldSpendThreshold(config.getGoldSpendThreshold())
+                .silverPointsMultiplier(PointsMath.toHundredths(config.getSilverPointsMultiplier()))
+                .goldPointsMultiplier(PointsMath.toHundredths(config.getGoldPointsMultiplier()))
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.rxbuddy.card.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rxbuddy.common.messaging.RabbitMQConfig;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.messaging", name = "enabled", havingValue = "true")
+public class MessagingConfig {
+
+    @Bean
+    public TopicExchange eventsExchange() {
+        return new TopicExchange(RabbitMQConfig.EXCHANGE_NAME);
+    }
+
+    @Bean
+    public MessageConverter jsonMessageConverter(ObjectMapper objectMapper) {
+        return new Jackson2JsonMessageConverter(objectMapper);
+    }
+
+    // Each replica gets its own auto-delete queue so every instance sees every invalidation
+    @Bean
+    public Queue cardConfigInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding cardConfigInvalidationBinding(Queue cardConfigInvalidationQueue, TopicExchange eventsExchange) {
+        return BindingBuilder.bind(cardConfigInvalidationQueue)
+                .to(eventsExchange)
+                .with(RabbitMQConfig.ROUTING_KEY_CARD_CONFIG_UPDATED);
+    }
+
+    // Shared, durable work queue: each bill is credited by exactly one replica.
+    // Rejected events are dead-lettered through the default exchange to the DLQ.
+    @Bean
+    public Queue billCreatedQueue() {
+        return QueueBuilder.durable(RabbitMQConfig.QUEUE_CARD_POINTS_EARN)
+                .deadLetterExchange("")
+                .deadLetterRoutingKey(RabbitMQConfig.QUEUE_CARD_POINTS_EARN_DLQ)
+                .build();
+    }
+
+    @Bean
+    public Queue billCreatedDeadLetterQueue() {
+        return QueueBuilder.durable(RabbitMQConfig.QUEUE_CARD_POINTS_EARN_DLQ).build();
+    }
+
+    @Bean
+    public Binding billCreatedBinding(Queue billCreatedQueue, TopicExchange eventsExchange) {
+        return BindingBuilder.bind(billCreatedQueue)
+                .to(eventsExchange)
+                .with(RabbitMQConfig.ROUTING_KEY_BILL_CREATED);
+    }
+
+    @Bean
+    public Queue billCancelledQueue() {
+        return QueueBuilder.durable(RabbitMQConfig.QUEUE_CARD_POINTS_REVERSE)
+                .deadLetterExchange("")
+                .deadLetterRoutingKey(RabbitMQConfig.QUEUE_CARD_POINTS_REVERSE_DLQ)
+                .build();
+    }
+
+    @Bean
+    public Queue billCancelledDeadLetterQueue() {
+        return QueueBuilder.durable(RabbitMQConfig.QUEUE_CARD_POINTS_REVERSE_DLQ).build();
+    }
+
+    @Bean
+    public Binding billCancelledBinding(Queue billCancelledQueue, TopicExchange eventsExchange) {
+        return BindingBuilder.bind(billCancelledQueue)
+                .to(eventsExchange)
+                .with(RabbitMQConfig.ROUTING_KEY_BILL_CANCELLED);
+    }
+
+    /**
+     * Delivers bill events to the listener in batches of up to {@code batch-size},
+     * or whatever has arrived when {@code receive-timeout} passes. The listeners ack or
+     * reject each message themselves, so one bad event never holds up or requeues the rest;
+     * anything rejected goes to the queue's DLQ rather than back onto the queue.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory billEventsContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${app.messaging.bill-events.batch-size:100}") int batchSize,
+            @Value("${app.messaging.bill-events.prefetch:250}") int prefetch,
+            @Value("${app.messaging.bill-events.receive-timeout:200}") long receiveTimeout) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setPrefetchCount(prefetch);
+        factory.setReceiveTimeout(receiveTimeout);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setDefaultRequeueRejected(false);
+        return factory;
+    }
+}
@@ -48,6 +48,14 @@ public class InternalCardController {
         return ResponseEntity.ok(ApiResponse.success("Points earned successfully", response));
     }
 
+    @PostMapping("/earn-points/bulk")
+    public ResponseEntity<ApiResponse<BulkEarnPointsResponse>> earnPointsBulk(
+            @RequestHeader("X-Tenant-Id") Long tenantId,
+            @Valid @RequestBody BulkEarnPointsRequest request) {
+        BulkEarnPointsResponse response = cardService.earnPointsBulk(tenantId, request.getBills());
+        return ResponseEntity.ok(ApiResponse.success("Bulk points earning processed", response));
+    }
+
     @PostMapping("/redeem-points")
     public ResponseEntity<ApiResponse<RedeemPointsResponse>> redeemPoints(
             @RequestHeader("X-Tenant-Id") Long tenantId,
@@ -55,4 +63,20 @@ public class InternalCardController {
         RedeemPointsResponse response = cardService.redeemPoints(tenantId, request);
         return ResponseEntity.ok(ApiResponse.success("Points redeemed successfully", response));
     }
+
+    @PostMapping("/reverse-points")
+    public ResponseEntity<ApiResponse<ReversePointsResponse>> reversePoints(
+            @RequestHeader("X-Tenant-Id") Long tenantId,
+            @Valid @RequestBody ReversePointsRequest request) {
+        ReversePointsResponse response = cardService.reversePoints(tenantId, request);
+        return ResponseEntity.ok(ApiResponse.success("Points reversed successfully", response));
+    }
+
+    @PostMapping("/calculate")
+    public ResponseEntity<ApiResponse<CalculatePointsResponse>> calculate(
+            @RequestHeader("X-Tenant-Id") Long tenantId,
+            @Valid @RequestBody CalculatePointsRequest request) {
+        CalculatePointsResponse response = cardService.calculate(tenantId, request);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
 }
@@ -3,6 +3,7 @@ package com.rxbuddy.card.controller;
 import com.rxbuddy.card.dto.*;
 import com.rxbuddy.card.service.LoyaltyCardService;
 import com.rxbuddy.common.dto.ApiResponse;
+import com.rxbuddy.common.dto.CursorPageResponse;
 import com.rxbuddy.common.dto.PageResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -122,6 +123,17 @@ public class LoyaltyCardController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/{id}/transactions/seek")
+    public ResponseEntity<ApiResponse<CursorPageResponse<PointTransactionDTO>>> getTransactionsBefore(
+            @RequestHeader("X-Tenant-Id") Long tenantId,
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageResponse<PointTransactionDTO> transactions =
+                cardService.getTransactionsBefore(tenantId, id, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(transactions));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<LoyaltyCardDTO>> deactivateCard(
             @RequestHeader("X-Tenant-Id") Long tenantId,
@@ -0,0 +1,53 @@
+package com.rxbuddy.card.controller;
+
+import com.rxbuddy.card.dto.PromotionDTO;
+import com.rxbuddy.card.service.PromotionService;
+import com.rxbuddy.common.dto.ApiResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/card-config/promotions")
+@RequiredArgsConstructor
+public class PromotionController {
+
+    private final PromotionService promotionService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<PromotionDTO>>> getPromotions(
+            @RequestHeader("X-Tenant-Id") Long tenantId) {
+        List<PromotionDTO> promotions = promotionService.getPromotions(tenantId);
+        return ResponseEntity.ok(ApiResponse.success(promotions));
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<PromotionDTO>> createPromotion(
+            @RequestHeader("X-Tenant-Id") Long tenantId,
+            @Valid @RequestBody PromotionDTO request) {
+        PromotionDTO promotion = promotionService.createPromotion(tenantId, request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Promotion created successfully", promotion));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponse<PromotionDTO>> updatePromotion(
+            @RequestHeader("X-Tenant-Id") Long tenantId,
+            @PathVariable Long id,
+            @Valid @RequestBody PromotionDTO request) {
+        PromotionDTO promotion = promotionService.updatePromotion(tenantId, id, request);
+        return ResponseEntity.ok(ApiResponse.success("Promotion updated successfully", promotion));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> deletePromotion(
+            @RequestHeader("X-Tenant-Id") Long tenantId,
+            @PathVariable Long id) {
+        promotionService.deletePromotion(tenantId, id);
+        return ResponseEntity.ok(ApiResponse.success("Promotion deleted successfully", null));
+    }
+}
@@ -0,0 +1,43 @@
+package com.rxbuddy.card.controller;
+
+import com.rxbuddy.card.service.TransactionExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/v1/transactions")
+@RequiredArgsConstructor
+public class TransactionExportController {
+
+    private final TransactionExportService exportService;
+
+    /**
+     * Streams the tenant's point transactions for a date range as CSV or NDJSON.
+     */
+    @GetMapping("/export")
+    public void exportTransactions(
+            @RequestHeader("X-Tenant-Id") Long tenantId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "format", defaultValue = "csv") String formatName,
+            HttpServletResponse response) throws IOException {
+
+        TransactionExportService.Format format = TransactionExportService.Format.from(formatName);
+        exportService.validateRange(from, to);
+
+        String extension = format.name().toLowerCase(Locale.ROOT);
+        response.setContentType(format == TransactionExportService.Format.CSV ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"transactions-" + tenantId + "-" + from + "-" + to + "." + extension + "\"");
+
+        exportService.export(tenantId, from, to, format, response.getOutputStream());
+    }
+}
@@ -0,0 +1,20 @@
+package com.rxbuddy.card.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkEarnPointsRequest {
+
+    @NotEmpty(message = "Bills are required")
+    @Size(max = 10000, message = "A maximum of 10000 bills can be processed per call")
+    private List<@Valid EarnPointsRequest> bills;
+}
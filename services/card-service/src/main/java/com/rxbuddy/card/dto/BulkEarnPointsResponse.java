@@ -0,0 +1,36 @@
+package com.rxbuddy.card.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkEarnPointsResponse {
+    private int totalBills;
+    private int processedBills;
+    private int failedBills;
+    private BigDecimal totalPointsEarned;
+    private BigDecimal totalReferrerPointsEarned;
+    private List<FailedBill> failures;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class FailedBill {
+        public static final String BILL_CANCELLED = "Bill cancelled";
+        public static final String ALREADY_PROCESSED = "Bill already processed";
+        public static final String CARD_NOT_FOUND = "Card not found";
+        public static final String CARD_INACTIVE = "Card is not active";
+
+        private Long billId;
+        private String cardNumber;
+        private String reason;
+    }
+}
@@ -0,0 +1,47 @@
+package com.rxbuddy.card.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Bill lines to price. {@code pointsBalance} and {@code tier} are the values the POS
+ * already holds from the card lookup; without a balance, redemption is capped by the bill alone.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CalculatePointsRequest {
+
+    @NotEmpty(message = "Items are required")
+    @Size(max = 1000, message = "A maximum of 1000 items can be calculated per call")
+    private List<@Valid Item> items;
+
+    private BigDecimal pointsBalance;
+
+    private String tier;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+        private Long categoryId;
+        private String categoryName;
+
+        @NotNull(message = "Item amount is required")
+        @DecimalMin(value = "0", message = "Item amount cannot be negative")
+        @Digits(integer = 10, fraction = 2, message = "Item amount must be in whole paise")
+        private BigDecimal amount;
+    }
+}
@@ -0,0 +1,37 @@
+package com.rxbuddy.card.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CalculatePointsResponse {
+    private List<Line> lines;
+    private BigDecimal grossAmount;
+    private BigDecimal discountAmount;
+    private BigDecimal netAmount;
+    private BigDecimal pointsEarned;
+    private String tier;
+    private BigDecimal maxRedeemablePoints;
+    private BigDecimal maxRedeemableAmount;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Line {
+        private Long categoryId;
+        private String categoryName;
+        private BigDecimal amount;
+        private BigDecimal discountPercentage;
+        private BigDecimal discountAmount;
+        private BigDecimal netAmount;
+        private BigDecimal points;
+    }
+}
@@ -18,6 +18,13 @@ public class CardConfigurationDTO {
     private Integer minPointsToRedeem;
     private BigDecimal referralPointsPercent;
     private Boolean referralEnabled;
+    private Integer pointsExpiryMonths;
+    private Boolean tiersEnabled;
+    private Integer tierPeriodMonths;
+    private BigDecimal silverSpendThreshold;
+    private BigDecimal goldSpendThreshold;
+    private BigDecimal silverPointsMultiplier;
+    private BigDecimal goldPointsMultiplier;
     private List<CategoryPointConfigDTO> categoryPointConfigs;
     private List<CategoryDiscountDTO> categoryDiscounts;
 }
@@ -11,6 +11,7 @@ import java.math.BigDecimal;
 @Builder
 public class EarnPointsResponse {
     private BigDecimal pointsEarned;
+    private String tier;
     private BigDecimal newBalance;
     private BigDecimal referrerPointsEarned;
     private String referrerCardNumber;
@@ -21,6 +21,7 @@ public class LoyaltyCardDTO {
     private BigDecimal totalPointsEarned;
     private BigDecimal totalPointsRedeemed;
     private BigDecimal totalReferralPointsEarned;
+    private String tier;
     private Boolean isActive;
     private LocalDateTime issuedAt;
     private LocalDateTime lastTransactionAt;
@@ -0,0 +1,40 @@
+package com.rxbuddy.card.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PromotionDTO {
+    private Long id;
+
+    @NotBlank(message = "Name is required")
+    private String name;
+
+    @NotNull(message = "Promotion type is required")
+    private String promotionType;
+
+    @NotNull(message = "Promotion value is required")
+    @DecimalMin(value = "0.01", message = "Promotion value must be positive")
+    private BigDecimal promotionValue;
+
+    private Long categoryId;
+    private String categoryName;
+    private Set<DayOfWeek> daysOfWeek;
+
+    @NotNull(message = "Start time is required")
+    private LocalDateTime startsAt;
+
+    private LocalDateTime endsAt;
+    private Boolean isActive;
+}
@@ -0,0 +1,24 @@
+package com.rxbuddy.card.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReversePointsRequest {
+
+    @NotEmpty(message = "Bill IDs are required")
+    @Size(max = 10000, message = "A maximum of 10000 bills can be reversed per call")
+    private List<@NotNull Long> billIds;
+
+    private String reason;
+
+    private Long performedBy;
+}
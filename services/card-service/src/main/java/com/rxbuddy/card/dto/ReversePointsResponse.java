@@ -0,0 +1,18 @@
+package com.rxbuddy.card.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReversePointsResponse {
+    private int totalBills;
+    private int reversedBills;
+    private int skippedBills;
+    private BigDecimal totalPointsReversed;
+    private BigDecimal totalReferrerPointsReversed;
+}
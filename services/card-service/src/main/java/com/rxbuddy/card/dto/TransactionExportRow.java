@@ -0,0 +1,24 @@
+package com.rxbuddy.card.dto;
+
+import com.rxbuddy.card.entity.PointTransaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One exported point transaction. Read through a JPQL constructor expression,
+ * so streamed rows never enter the persistence context.
+ */
+public record TransactionExportRow(
+        Long id,
+        LocalDateTime createdAt,
+        String cardNumber,
+        PointTransaction.TransactionType transactionType,
+        BigDecimal points,
+        BigDecimal balanceAfter,
+        String referenceType,
+        Long referenceId,
+        BigDecimal billAmount,
+        String description
+) {
+}
@@ -0,0 +1,50 @@
+package com.rxbuddy.card.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * One row per bill that has been credited or cancelled, in either order. Bill events arrive
+ * asynchronously, so a cancellation can be handled before the bill's credit; both paths lock
+ * this row first, and earning refuses a bill whose marker says it was cancelled.
+ */
+@Entity
+@Table(name = "bill_markers")
+@IdClass(BillMarker.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BillMarker {
+
+    @Id
+    @Column(name = "tenant_id")
+    private Long tenantId;
+
+    @Id
+    @Column(name = "bill_id")
+    private Long billId;
+
+    @Column(name = "cancelled", nullable = false)
+    private boolean cancelled;
+
+    @Column(name = "reason")
+    private String reason;
+
+    @Column(name = "cancelled_at")
+    private LocalDateTime cancelledAt;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long tenantId;
+        private Long billId;
+    }
+}
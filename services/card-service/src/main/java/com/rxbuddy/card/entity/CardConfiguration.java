@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class CardConfiguration {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "card_configurations")
+    @TableGenerator(name = "card_configurations", table = "id_generators", pkColumnValue = "card_configurations", allocationSize = 50)
     private Long id;
 
     @Column(name = "tenant_id", nullable = false, unique = true)
@@ -46,6 +47,35 @@ public class CardConfiguration {
     @Builder.Default
     private Boolean referralEnabled = true;
 
+    // Earned points expire this many months after they were earned; null keeps them forever
+    @Column(name = "points_expiry_months")
+    private Integer pointsExpiryMonths;
+
+    // Tiers: spend over a tier period at or above a threshold earns a points multiplier
+    @Column(name = "tiers_enabled")
+    @Builder.Default
+    private Boolean tiersEnabled = false;
+
+    @Column(name = "tier_period_months")
+    @Builder.Default
+    private Integer tierPeriodMonths = 12;
+
+    @Column(name = "silver_spend_threshold", precision = 12, scale = 2)
+    @Builder.Default
+    private BigDecimal silverSpendThreshold = new BigDecimal("10000.00");
+
+    @Column(name = "gold_spend_threshold", precision = 12, scale = 2)
+    @Builder.Default
+    private BigDecimal goldSpendThreshold = new BigDecimal("50000.00");
+
+    @Column(name = "silver_points_multiplier", precision = 4, scale = 2)
+    @Builder.Default
+    private BigDecimal silverPointsMultiplier = new BigDecimal("1.25");
+
+    @Column(name = "gold_points_multiplier", precision = 4, scale = 2)
+    @Builder.Default
+    private BigDecimal goldPointsMultiplier = new BigDecimal("1.50");
+
     @Column(name = "created_at")
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class CategoryDiscount {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "category_discounts")
+    @TableGenerator(name = "category_discounts", table = "id_generators", pkColumnValue = "category_discounts", allocationSize = 50)
     private Long id;
 
     @Column(name = "tenant_id", nullable = false)
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class CategoryPointConfig {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "category_point_configs")
+    @TableGenerator(name = "category_point_configs", table = "id_generators", pkColumnValue = "category_point_configs", allocationSize = 50)
     private Long id;
 
     @Column(name = "tenant_id", nullable = false)
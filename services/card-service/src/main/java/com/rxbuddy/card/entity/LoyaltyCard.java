@@ -2,13 +2,20 @@ package com.rxbuddy.card.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
+/**
+ * Point balances are changed only through the atomic delta updates in
+ * {@code LoyaltyCardRepository}; {@link DynamicUpdate} keeps entity saves
+ * (deactivation, referrer linking) from writing back a stale balance.
+ */
 @Entity
+@DynamicUpdate
 @Table(name = "loyalty_cards")
 @Getter
 @Setter
@@ -18,7 +25,8 @@ import java.util.Set;
 public class LoyaltyCard {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "loyalty_cards")
+    @TableGenerator(name = "loyalty_cards", table = "id_generators", pkColumnValue = "loyalty_cards", allocationSize = 50)
     private Long id;
 
     @Column(name = "tenant_id", nullable = false)
@@ -37,6 +45,11 @@ public class LoyaltyCard {
     @Column(name = "customer_phone", nullable = false, length = 15)
     private String customerPhone;
 
+    // Maintained from customerPhone; serves phone-suffix search as an indexed prefix match
+    @Column(name = "customer_phone_reversed", length = 15)
+    @Setter(AccessLevel.NONE)
+    private String customerPhoneReversed;
+
     @Column(name = "customer_email")
     private String customerEmail;
 
@@ -67,6 +80,23 @@ public class LoyaltyCard {
     @Builder.Default
     private BigDecimal totalReferralPointsEarned = BigDecimal.ZERO;
 
+    // Tier, qualified by spend over the current or previous tier period (see TierRules)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tier", length = 10)
+    @Builder.Default
+    private Tier tier = Tier.BRONZE;
+
+    @Column(name = "tier_period")
+    private Integer tierPeriod;
+
+    @Column(name = "period_spend", precision = 14, scale = 2)
+    @Builder.Default
+    private BigDecimal periodSpend = BigDecimal.ZERO;
+
+    @Column(name = "previous_period_spend", precision = 14, scale = 2)
+    @Builder.Default
+    private BigDecimal previousPeriodSpend = BigDecimal.ZERO;
+
     // Status
     @Column(name = "is_active")
     @Builder.Default
@@ -91,29 +121,38 @@ public class LoyaltyCard {
     @Builder.Default
     private Set<PointTransaction> transactions = new HashSet<>();
 
+    @PrePersist
+    protected void onCreate() {
+        this.customerPhoneReversed = reversePhone(customerPhone);
+    }
+
     @PreUpdate
     protected void onUpdate() {
         this.updatedAt = LocalDateTime.now();
+        this.customerPhoneReversed = reversePhone(customerPhone);
     }
 
-    public void addPoints(BigDecimal points) {
-        this.pointsBalance = this.pointsBalance.add(points);
-        this.totalPointsEarned = this.totalPointsEarned.add(points);
-        this.lastTransactionAt = LocalDateTime.now();
+    public static String reversePhone(String phone) {
+        return phone == null ? null : new StringBuilder(phone).reverse().toString();
     }
 
-    public void addReferralPoints(BigDecimal points) {
-        this.pointsBalance = this.pointsBalance.add(points);
-        this.totalReferralPointsEarned = this.totalReferralPointsEarned.add(points);
-        this.lastTransactionAt = LocalDateTime.now();
+    /**
+     * Spend that counts towards the tier in {@code period}, after {@code additional} more:
+     * the larger of this period's and the previous period's spend, as of the loaded row.
+     */
+    public BigDecimal qualifyingSpend(int period, BigDecimal additional) {
+        BigDecimal current = additional;
+        BigDecimal previous = BigDecimal.ZERO;
+        if (tierPeriod != null && tierPeriod == period) {
+            current = current.add(periodSpend);
+            previous = previousPeriodSpend;
+        } else if (tierPeriod != null && tierPeriod == period - 1) {
+            previous = periodSpend;
+        }
+        return current.max(previous);
     }
 
-    public void redeemPoints(BigDecimal points) {
-        if (this.pointsBalance.compareTo(points) < 0) {
-            throw new IllegalArgumentException("Insufficient points balance");
-        }
-        this.pointsBalance = this.pointsBalance.subtract(points);
-        this.totalPointsRedeemed = this.totalPointsRedeemed.add(points);
-        this.lastTransactionAt = LocalDateTime.now();
+    public enum Tier {
+        BRONZE, SILVER, GOLD
     }
 }
@@ -7,7 +7,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "point_transactions")
+@Table(name = "point_transactions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_transaction_reference",
+                columnNames = {"tenant_id", "reference_type", "reference_id", "transaction_type"})
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,7 +19,8 @@ import java.time.LocalDateTime;
 public class PointTransaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "point_transactions")
+    @TableGenerator(name = "point_transactions", table = "id_generators", pkColumnValue = "point_transactions", allocationSize = 50)
     private Long id;
 
     @Column(name = "tenant_id", nullable = false)
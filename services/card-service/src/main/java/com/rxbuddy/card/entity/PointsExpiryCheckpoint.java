@@ -0,0 +1,65 @@
+package com.rxbuddy.card.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a tenant's points-expiry sweep. Advanced in the same transaction as each
+ * chunk of expiries; the version stops two instances from sweeping the same tenant.
+ */
+@Entity
+@Table(name = "points_expiry_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PointsExpiryCheckpoint {
+
+    @Id
+    @Column(name = "tenant_id")
+    private Long tenantId;
+
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Column(name = "last_card_id", nullable = false)
+    @Builder.Default
+    private Long lastCardId = 0L;
+
+    @Column(name = "completed", nullable = false)
+    @Builder.Default
+    private Boolean completed = false;
+
+    @Column(name = "cards_expired", nullable = false)
+    @Builder.Default
+    private Integer cardsExpired = 0;
+
+    @Column(name = "points_expired", precision = 14, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal pointsExpired = BigDecimal.ZERO;
+
+    @Version
+    private Long version;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public void startRun(LocalDate runDate) {
+        this.runDate = runDate;
+        this.lastCardId = 0L;
+        this.completed = false;
+        this.cardsExpired = 0;
+        this.pointsExpired = BigDecimal.ZERO;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
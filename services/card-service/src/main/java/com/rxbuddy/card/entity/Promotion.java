@@ -0,0 +1,100 @@
+package com.rxbuddy.card.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Entity
+@Table(name = "promotions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Promotion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "promotions")
+    @TableGenerator(name = "promotions", table = "id_generators", pkColumnValue = "promotions", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "tenant_id", nullable = false)
+    private Long tenantId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "promotion_type", nullable = false, length = 20)
+    private PromotionType promotionType;
+
+    @Column(name = "promotion_value", precision = 6, scale = 2, nullable = false)
+    private BigDecimal promotionValue;
+
+    // Null applies to every category
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(name = "category_name")
+    private String categoryName;
+
+    // Bit 0 = Monday ... bit 6 = Sunday; null = every day
+    @Column(name = "days_of_week")
+    private Integer daysOfWeek;
+
+    @Column(name = "starts_at", nullable = false)
+    private LocalDateTime startsAt;
+
+    @Column(name = "ends_at")
+    private LocalDateTime endsAt;
+
+    @Column(name = "is_active")
+    @Builder.Default
+    private Boolean isActive = true;
+
+    @Column(name = "created_at")
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public static Integer toDayMask(Collection<DayOfWeek> days) {
+        if (days == null || days.isEmpty()) {
+            return null;
+        }
+        int mask = 0;
+        for (DayOfWeek day : days) {
+            mask |= 1 << (day.getValue() - 1);
+        }
+        return mask;
+    }
+
+    public static Set<DayOfWeek> fromDayMask(Integer mask) {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        if (mask != null) {
+            for (DayOfWeek day : DayOfWeek.values()) {
+                if ((mask & (1 << (day.getValue() - 1))) != 0) {
+                    days.add(day);
+                }
+            }
+        }
+        return days;
+    }
+
+    public enum PromotionType {
+        MULTIPLIER,     // Category points multiplied by the value; the highest applicable multiplier wins
+        BONUS_PERCENT   // Value percent of the line amount added as points; applicable bonuses add up
+    }
+}
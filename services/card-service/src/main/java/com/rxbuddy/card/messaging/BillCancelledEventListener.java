@@ -0,0 +1,91 @@
+package com.rxbuddy.card.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import com.rxbuddy.card.dto.ReversePointsRequest;
+import com.rxbuddy.card.dto.ReversePointsResponse;
+import com.rxbuddy.card.service.LoyaltyCardService;
+import com.rxbuddy.common.messaging.BillCancelledEvent;
+import com.rxbuddy.common.messaging.RabbitMQConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reverses points for billing's bill-cancelled events. Each delivered batch is grouped
+ * by tenant and reversed through {@link LoyaltyCardService#reversePoints}; bills already
+ * reversed are skipped, so redelivery is harmless.
+ * <p>
+ * Malformed events are dead-lettered. If a tenant's reversal fails, its bills are retried
+ * one at a time so only the failing bill is dead-lettered.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.messaging", name = "enabled", havingValue = "true")
+public class BillCancelledEventListener {
+
+    private final LoyaltyCardService cardService;
+    private final ObjectMapper objectMapper;
+
+    @RabbitListener(queues = "#{billCancelledQueue.name}", containerFactory = "billEventsContainerFactory")
+    public void onBillsCancelled(List<Message> messages, Channel channel) throws IOException {
+        BillEventAcks acks = new BillEventAcks(channel, objectMapper, RabbitMQConfig.QUEUE_CARD_POINTS_REVERSE);
+        Map<Long, Map<Long, Long>> billsByTenant = new LinkedHashMap<>();
+
+        for (Message message : messages) {
+            long tag = BillEventAcks.tag(message);
+            BillCancelledEvent event = acks.read(message, BillCancelledEvent.class);
+            if (event == null) {
+                continue;
+            }
+            if (event.getTenantId() == null || event.getBillId() == null) {
+                acks.reject(tag, "missing tenant or bill id");
+            } else if (event.getCardNumber() == null || event.getCardNumber().isBlank()) {
+                // No loyalty card on the bill, nothing to reverse
+                acks.ack(tag);
+            } else {
+                billsByTenant.computeIfAbsent(event.getTenantId(), id -> new LinkedHashMap<>())
+                        .put(tag, event.getBillId());
+            }
+        }
+
+        for (Map.Entry<Long, Map<Long, Long>> tenant : billsByTenant.entrySet()) {
+            reverse(tenant.getKey(), tenant.getValue(), acks);
+        }
+    }
+
+    private void reverse(Long tenantId, Map<Long, Long> bills, BillEventAcks acks) throws IOException {
+        try {
+            List<Long> billIds = new ArrayList<>(bills.values());
+            ReversePointsResponse response = cardService.reversePoints(tenantId,
+                    ReversePointsRequest.builder().billIds(billIds).reason("Bill cancelled").build());
+            log.debug("Reversed {} of {} cancelled bills in tenant {}", response.getReversedBills(),
+                    billIds.size(), tenantId);
+            acks.ackAll(bills.keySet());
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Reversing {} cancelled bills failed in tenant {}, retrying one by one: {}",
+                    bills.size(), tenantId, e.toString());
+        }
+
+        for (Map.Entry<Long, Long> bill : bills.entrySet()) {
+            try {
+                cardService.reversePoints(tenantId,
+                        ReversePointsRequest.builder().billIds(List.of(bill.getValue())).reason("Bill cancelled").build());
+                acks.ack(bill.getKey());
+            } catch (RuntimeException e) {
+                acks.reject(bill.getKey(), "bill " + bill.getValue() + " failed: " + e);
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.rxbuddy.card.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import com.rxbuddy.card.dto.BulkEarnPointsResponse;
+import com.rxbuddy.card.dto.EarnPointsRequest;
+import com.rxbuddy.card.exception.CardServiceException;
+import com.rxbuddy.card.service.LoyaltyCardService;
+import com.rxbuddy.common.messaging.BillCreatedEvent;
+import com.rxbuddy.common.messaging.RabbitMQConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Earns points from billing's bill-created events, off the checkout path.
+ * Each delivered batch is grouped by tenant and credited through
+ * {@link LoyaltyCardService#earnPointsBulk}, which applies one balance update per card
+ * and skips bills that were already credited, so redelivery is harmless.
+ * <p>
+ * Events are validated one by one and malformed ones are dead-lettered, as are bills the
+ * card service refuses (unknown or inactive card, card system not enabled), so they can
+ * be replayed once the cause is fixed. Bills already credited or cancelled are acked. If a
+ * tenant's bulk credit fails, its bills are retried one at a time so only the failing bill
+ * is dead-lettered.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.messaging", name = "enabled", havingValue = "true")
+public class BillCreatedEventListener {
+
+    // Bulk failures that need no follow-up; any other refused bill is dead-lettered
+    private static final Set<String> SETTLED_FAILURES = Set.of(
+            BulkEarnPointsResponse.FailedBill.ALREADY_PROCESSED, BulkEarnPointsResponse.FailedBill.BILL_CANCELLED);
+
+    private final LoyaltyCardService cardService;
+    private final ObjectMapper objectMapper;
+
+    @RabbitListener(queues = "#{billCreatedQueue.name}", containerFactory = "billEventsContainerFactory")
+    public void onBillsCreated(List<Message> messages, Channel channel) throws IOException {
+        BillEventAcks acks = new BillEventAcks(channel, objectMapper, RabbitMQConfig.QUEUE_CARD_POINTS_EARN);
+        Map<Long, Map<Long, EarnPointsRequest>> billsByTenant = new LinkedHashMap<>();
+
+        for (Message message : messages) {
+            long tag = BillEventAcks.tag(message);
+            BillCreatedEvent event = acks.read(message, BillCreatedEvent.class);
+            if (event == null) {
+                continue;
+            }
+            if (event.getTenantId() == null || event.getBillId() == null) {
+                acks.reject(tag, "missing tenant or bill id");
+            } else if (event.getCardNumber() == null || event.getCardNumber().isBlank()) {
+                // No loyalty card on the bill, nothing to credit
+                acks.ack(tag);
+            } else if (!hasValidAmounts(event)) {
+                acks.reject(tag, "bill " + event.getBillId() + " has a missing or negative amount");
+            } else {
+                billsByTenant.computeIfAbsent(event.getTenantId(), id -> new LinkedHashMap<>())
+                        .put(tag, toEarnRequest(event));
+            }
+        }
+
+        for (Map.Entry<Long, Map<Long, EarnPointsRequest>> tenant : billsByTenant.entrySet()) {
+            credit(tenant.getKey(), tenant.getValue(), acks);
+        }
+
+        log.debug("Processed {} bill events ({} with cards)", messages.size(),
+                billsByTenant.values().stream().mapToInt(Map::size).sum());
+    }
+
+    private void credit(Long tenantId, Map<Long, EarnPointsRequest> bills, BillEventAcks acks) throws IOException {
+        try {
+            settle(bills, earn(tenantId, new ArrayList<>(bills.values())), acks);
+            return;
+        } catch (CardServiceException e) {
+            // Refused for the whole tenant (e.g. card system disabled); retrying per bill won't help
+            acks.rejectAll(bills.keySet(), "tenant " + tenantId + " refused: " + e.getMessage());
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Crediting {} bill events failed in tenant {}, retrying one by one: {}",
+                    bills.size(), tenantId, e.toString());
+        }
+
+        for (Map.Entry<Long, EarnPointsRequest> bill : bills.entrySet()) {
+            try {
+                settle(Map.of(bill.getKey(), bill.getValue()), earn(tenantId, List.of(bill.getValue())), acks);
+            } catch (RuntimeException e) {
+                acks.reject(bill.getKey(), "bill " + bill.getValue().getBillId() + " failed: " + e);
+            }
+        }
+    }
+
+    /**
+     * Acks each delivery, except those whose bill the card service refused.
+     *
+     * @param refused reason per refused bill id
+     */
+    private void settle(Map<Long, EarnPointsRequest> bills, Map<Long, String> refused, BillEventAcks acks)
+            throws IOException {
+        for (Map.Entry<Long, EarnPointsRequest> bill : bills.entrySet()) {
+            String reason = refused.get(bill.getValue().getBillId());
+            if (reason == null) {
+                acks.ack(bill.getKey());
+            } else {
+                acks.reject(bill.getKey(), "bill " + bill.getValue().getBillId() + " refused: " + reason);
+            }
+        }
+    }
+
+    /**
+     * @return reason per bill the card service refused, other than bills already settled
+     */
+    private Map<Long, String> earn(Long tenantId, List<EarnPointsRequest> bills) {
+        BulkEarnPointsResponse response = cardService.earnPointsBulk(tenantId, bills);
+        if (response.getFailedBills() > 0) {
+            log.info("{} of {} bill events not credited in tenant {}: {}", response.getFailedBills(),
+                    bills.size(), tenantId, response.getFailures().stream()
+                            .map(f -> f.getBillId() + " (" + f.getReason() + ")")
+                            .collect(Collectors.joining(", ")));
+        }
+        return response.getFailures().stream()
+                .filter(failure -> !SETTLED_FAILURES.contains(failure.getReason()))
+                .collect(Collectors.toMap(BulkEarnPointsResponse.FailedBill::getBillId,
+                        BulkEarnPointsResponse.FailedBill::getReason, (first, second) -> first));
+    }
+
+    private static boolean hasValidAmounts(BillCreatedEvent event) {
+        if (event.getBillAmount() == null || event.getBillAmount().signum() < 0) {
+            return false;
+        }
+        return event.getItems() == null || event.getItems().stream()
+                .allMatch(item -> item != null && item.getAmount() != null && item.getAmount().signum() >= 0);
+    }
+
+    private EarnPointsRequest toEarnRequest(BillCreatedEvent event) {
+        return EarnPointsRequest.builder()
+                .cardNumber(event.getCardNumber())
+                .billId(event.getBillId())
+                .billAmount(event.getBillAmount())
+                .items(event.getItems() == null ? List.of() : event.getItems().stream()
+                        .map(item -> EarnPointsRequest.BillItem.builder()
+                                .categoryId(item.getCategoryId())
+                                .categoryName(item.getCategoryName())
+                                .amount(item.getAmount())
+                                .build())
+                        .collect(Collectors.toList()))
+                .performedBy(event.getPerformedBy())
+                .build();
+    }
+}
@@ -0,0 +1,61 @@
+package com.rxbuddy.card.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Per-message acknowledgement for a manually acked bill-event batch. Each delivery is
+ * acked once handled or deliberately skipped, or rejected without requeue, which moves it
+ * to the queue's dead-letter queue, when it is malformed, refused or fails on its own.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class BillEventAcks {
+
+    private final Channel channel;
+    private final ObjectMapper objectMapper;
+    private final String queue;
+
+    /**
+     * Reads the event, or rejects the message and returns null when it cannot be read.
+     */
+    <T> T read(Message message, Class<T> type) throws IOException {
+        try {
+            return objectMapper.readValue(message.getBody(), type);
+        } catch (IOException e) {
+            reject(tag(message), "unreadable event: " + e.getMessage());
+            return null;
+        }
+    }
+
+    void ack(long deliveryTag) throws IOException {
+        channel.basicAck(deliveryTag, false);
+    }
+
+    void ackAll(Collection<Long> deliveryTags) throws IOException {
+        for (long deliveryTag : deliveryTags) {
+            ack(deliveryTag);
+        }
+    }
+
+    void reject(long deliveryTag, String reason) throws IOException {
+        log.warn("Dead-lettering message {} from {}: {}", deliveryTag, queue, reason);
+        channel.basicReject(deliveryTag, false);
+    }
+
+    void rejectAll(Collection<Long> deliveryTags, String reason) throws IOException {
+        for (long deliveryTag : deliveryTags) {
+            reject(deliveryTag, reason);
+        }
+    }
+
+    static long tag(Message message) {
+        return message.getMessageProperties().getDeliveryTag();
+    }
+}
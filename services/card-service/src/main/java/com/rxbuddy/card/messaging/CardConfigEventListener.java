@@ -0,0 +1,24 @@
+package com.rxbuddy.card.messaging;
+
+import com.rxbuddy.card.cache.CardConfigCache;
+import com.rxbuddy.common.messaging.CardConfigUpdatedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.messaging", name = "enabled", havingValue = "true")
+public class CardConfigEventListener {
+
+    private final CardConfigCache configCache;
+
+    @RabbitListener(queues = "#{cardConfigInvalidationQueue.name}")
+    public void onConfigUpdated(CardConfigUpdatedEvent event) {
+        log.debug("Received card config update for tenant {}", event.getTenantId());
+        configCache.invalidate(event.getTenantId());
+    }
+}
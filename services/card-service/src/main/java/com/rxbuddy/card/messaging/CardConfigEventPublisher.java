@@ -0,0 +1,32 @@
+package com.rxbuddy.card.messaging;
+
+import com.rxbuddy.common.messaging.CardConfigUpdatedEvent;
+import com.rxbuddy.common.messaging.RabbitMQConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells the other card-service replicas to drop their cached configuration for a tenant.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.messaging", name = "enabled", havingValue = "true")
+public class CardConfigEventPublisher {
+
+    private final RabbitTemplate rabbitTemplate;
+
+    public void publishConfigUpdated(Long tenantId) {
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.EXCHANGE_NAME,
+                    RabbitMQConfig.ROUTING_KEY_CARD_CONFIG_UPDATED, CardConfigUpdatedEvent.of(tenantId));
+        } catch (AmqpException e) {
+            // Other replicas fall back to the cache TTL
+            log.warn("Failed to broadcast card config update for tenant {}: {}", tenantId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.rxbuddy.card.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Creates missing bill markers in JDBC batches. The upsert leaves existing markers as they
+ * are but still takes their row lock, so a bill's marker is locked from this point whether
+ * it was just inserted or already there.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BillMarkerBatchRepository {
+
+    private static final String INSERT_MISSING = "INSERT INTO bill_markers (tenant_id, bill_id, cancelled) " +
+            "VALUES (?, ?, FALSE) ON DUPLICATE KEY UPDATE cancelled = cancelled";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * {@code billIds} must be in ascending order, so concurrent callers lock shared bills in
+     * the same order and cannot deadlock each other.
+     */
+    public void insertMissing(Long tenantId, List<Long> billIds) {
+        jdbcTemplate.batchUpdate(INSERT_MISSING, billIds, billIds.size(), (statement, billId) -> {
+            statement.setLong(1, tenantId);
+            statement.setLong(2, billId);
+        });
+    }
+}
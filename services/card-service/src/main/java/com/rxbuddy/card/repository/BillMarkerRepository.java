@@ -0,0 +1,34 @@
+package com.rxbuddy.card.repository;
+
+import com.rxbuddy.card.entity.BillMarker;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BillMarkerRepository extends JpaRepository<BillMarker, BillMarker.Key> {
+
+    /**
+     * Locks the markers of {@code billIds}, which the caller has just created where missing
+     * (see {@link BillMarkerBatchRepository#insertMissing}). These are record locks on existing
+     * rows, so they hold under READ COMMITTED as well as REPEATABLE READ, and the locking read
+     * sees the latest committed {@code cancelled} flag.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM BillMarker m WHERE m.tenantId = :tenantId AND m.billId IN :billIds ORDER BY m.billId")
+    List<BillMarker> lockAll(@Param("tenantId") Long tenantId, @Param("billIds") Collection<Long> billIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE BillMarker m SET m.cancelled = true, m.reason = :reason, m.cancelledAt = :now " +
+           "WHERE m.tenantId = :tenantId AND m.billId IN :billIds AND m.cancelled = false")
+    int markCancelled(@Param("tenantId") Long tenantId, @Param("billIds") Collection<Long> billIds,
+                      @Param("reason") String reason, @Param("now") LocalDateTime now);
+}
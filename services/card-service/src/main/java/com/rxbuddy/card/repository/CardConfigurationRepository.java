@@ -4,6 +4,7 @@ import com.rxbuddy.card.entity.CardConfiguration;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +13,6 @@ public interface CardConfigurationRepository extends JpaRepository<CardConfigura
     Optional<CardConfiguration> findByTenantId(Long tenantId);
 
     boolean existsByTenantId(Long tenantId);
+
+    List<CardConfiguration> findByIsEnabledTrueAndPointsExpiryMonthsNotNull();
 }
@@ -0,0 +1,31 @@
+package com.rxbuddy.card.repository;
+
+import com.rxbuddy.card.entity.CardNumberSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface CardNumberSequenceRepository extends JpaRepository<CardNumberSequence, Long> {
+
+    @Modifying
+    @Query("UPDATE CardNumberSequence s SET s.nextValue = s.nextValue + :blockSize, s.updatedAt = :now " +
+           "WHERE s.tenantId = :tenantId")
+    int advance(@Param("tenantId") Long tenantId, @Param("blockSize") long blockSize, @Param("now") LocalDateTime now);
+
+    /**
+     * Plain INSERT (never a merge), so a row created concurrently by another
+     * instance surfaces as a key violation instead of being overwritten.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO card_number_sequences (tenant_id, next_value, updated_at) " +
+                   "VALUES (:tenantId, :nextValue, :now)", nativeQuery = true)
+    void insert(@Param("tenantId") Long tenantId, @Param("nextValue") long nextValue, @Param("now") LocalDateTime now);
+
+    @Query("SELECT s.nextValue FROM CardNumberSequence s WHERE s.tenantId = :tenantId")
+    Long findNextValue(@Param("tenantId") Long tenantId);
+}
@@ -3,21 +3,32 @@ package com.rxbuddy.card.repository;
 import com.rxbuddy.card.entity.LoyaltyCard;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface LoyaltyCardRepository extends JpaRepository<LoyaltyCard, Long> {
 
+    @EntityGraph(attributePaths = "referrerCard")
     Page<LoyaltyCard> findByTenantId(Long tenantId, Pageable pageable);
 
     Optional<LoyaltyCard> findByTenantIdAndCardNumber(Long tenantId, String cardNumber);
 
+    @Query("SELECT c FROM LoyaltyCard c LEFT JOIN FETCH c.referrerCard " +
+           "WHERE c.tenantId = :tenantId AND c.cardNumber IN :cardNumbers")
+    List<LoyaltyCard> findByTenantIdAndCardNumberIn(@Param("tenantId") Long tenantId,
+                                                    @Param("cardNumbers") Collection<String> cardNumbers);
+
     Optional<LoyaltyCard> findByTenantIdAndCustomerId(Long tenantId, Long customerId);
 
     Optional<LoyaltyCard> findByTenantIdAndCustomerPhone(Long tenantId, String customerPhone);
@@ -29,7 +40,137 @@ public interface LoyaltyCardRepository extends JpaRepository<LoyaltyCard, Long>
     @Query("SELECT c FROM LoyaltyCard c WHERE c.tenantId = :tenantId AND c.referrerCard.id = :referrerCardId")
     List<LoyaltyCard> findReferrals(@Param("tenantId") Long tenantId, @Param("referrerCardId") Long referrerCardId);
 
+    long countByTenantIdAndReferrerCardId(Long tenantId, Long referrerCardId);
+
+    @Query("SELECT c.referrerCard.id AS referrerCardId, COUNT(c) AS referralCount FROM LoyaltyCard c " +
+           "WHERE c.tenantId = :tenantId AND c.referrerCard.id IN :referrerCardIds GROUP BY c.referrerCard.id")
+    List<ReferralCount> countReferrals(@Param("tenantId") Long tenantId,
+                                       @Param("referrerCardIds") Collection<Long> referrerCardIds);
+
+    /**
+     * Phone search by leading or trailing digits; both sides are prefix matches
+     * on (tenant_id, customer_phone) and (tenant_id, customer_phone_reversed).
+     */
+    @EntityGraph(attributePaths = "referrerCard")
     @Query("SELECT c FROM LoyaltyCard c WHERE c.tenantId = :tenantId " +
-           "AND (c.customerName LIKE %:search% OR c.customerPhone LIKE %:search% OR c.cardNumber LIKE %:search%)")
-    Page<LoyaltyCard> searchCards(@Param("tenantId") Long tenantId, @Param("search") String search, Pageable pageable);
+           "AND (c.customerPhone LIKE CONCAT(:digits, '%') OR c.customerPhoneReversed LIKE CONCAT(:reversedDigits, '%'))")
+    Page<LoyaltyCard> searchByPhone(@Param("tenantId") Long tenantId, @Param("digits") String digits,
+                                    @Param("reversedDigits") String reversedDigits, Pageable pageable);
+
+    @EntityGraph(attributePaths = "referrerCard")
+    Page<LoyaltyCard> findByTenantIdAndCardNumberStartingWith(Long tenantId, String prefix, Pageable pageable);
+
+    @EntityGraph(attributePaths = "referrerCard")
+    List<LoyaltyCard> findByIdIn(Collection<Long> ids);
+
+    @Query("SELECT c.id AS id, c.customerName AS customerName FROM LoyaltyCard c WHERE c.tenantId = :tenantId ORDER BY c.id")
+    List<CardName> findCardNames(@Param("tenantId") Long tenantId);
+
+    interface CardName {
+        Long getId();
+
+        String getCustomerName();
+    }
+
+    /**
+     * Balance changes are applied as SQL deltas so concurrent counters charging the same card
+     * never overwrite each other. The row stays locked until commit, so a balance read back
+     * in the same transaction is exactly the balance after this change.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE LoyaltyCard c SET c.pointsBalance = c.pointsBalance + :earned + :referral, " +
+           "c.totalPointsEarned = c.totalPointsEarned + :earned, " +
+           "c.totalReferralPointsEarned = c.totalReferralPointsEarned + :referral, " +
+           "c.lastTransactionAt = :now, c.updatedAt = :now WHERE c.id = :cardId")
+    int creditPoints(@Param("cardId") Long cardId, @Param("earned") BigDecimal earned,
+                     @Param("referral") BigDecimal referral, @Param("now") LocalDateTime now);
+
+    /**
+     * {@link #creditPoints} for a purchase: also adds {@code spend} to the card's spend in tier
+     * period {@code period}, first rolling the stored period's spend into the previous-period
+     * slot when the period has moved on. Each assignment only reads columns assigned after it,
+     * so the result is the same whether the database applies SET clauses in order or at once.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE LoyaltyCard c SET c.pointsBalance = c.pointsBalance + :earned + :referral, " +
+           "c.totalPointsEarned = c.totalPointsEarned + :earned, " +
+           "c.totalReferralPointsEarned = c.totalReferralPointsEarned + :referral, " +
+           "c.previousPeriodSpend = CASE WHEN c.tierPeriod = :period THEN c.previousPeriodSpend " +
+           "WHEN c.tierPeriod = :period - 1 THEN c.periodSpend ELSE 0 END, " +
+           "c.periodSpend = CASE WHEN c.tierPeriod = :period THEN c.periodSpend + :spend ELSE :spend END, " +
+           "c.tierPeriod = :period, " +
+           "c.lastTransactionAt = :now, c.updatedAt = :now WHERE c.id = :cardId")
+    int creditPurchase(@Param("cardId") Long cardId, @Param("earned") BigDecimal earned,
+                       @Param("referral") BigDecimal referral, @Param("spend") BigDecimal spend,
+                       @Param("period") int period, @Param("now") LocalDateTime now);
+
+    /**
+     * Tier and qualifying spend as stored, for reading back after {@link #creditPurchase} in the
+     * same transaction: the rows are still locked, so the spend includes every credit committed
+     * before this one and the tier is the one those credits left behind.
+     */
+    @Query("SELECT c.id AS cardId, c.tier AS tier, CASE WHEN c.periodSpend >= c.previousPeriodSpend " +
+           "THEN c.periodSpend ELSE c.previousPeriodSpend END AS qualifyingSpend " +
+           "FROM LoyaltyCard c WHERE c.id IN :cardIds")
+    List<CardTierSpend> findTierSpends(@Param("cardIds") Collection<Long> cardIds);
+
+    interface CardTierSpend {
+        Long getCardId();
+
+        LoyaltyCard.Tier getTier();
+
+        BigDecimal getQualifyingSpend();
+    }
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE LoyaltyCard c SET c.tier = :tier WHERE c.id = :cardId")
+    int updateTier(@Param("cardId") Long cardId, @Param("tier") LoyaltyCard.Tier tier);
+
+    /**
+     * Returns 0 when the balance is below {@code points}; the guard is evaluated
+     * against the locked row, so concurrent redemptions cannot overdraw the card.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE LoyaltyCard c SET c.pointsBalance = c.pointsBalance - :points, " +
+           "c.totalPointsRedeemed = c.totalPointsRedeemed + :points, " +
+           "c.lastTransactionAt = :now, c.updatedAt = :now " +
+           "WHERE c.id = :cardId AND c.pointsBalance >= :points")
+    int debitPoints(@Param("cardId") Long cardId, @Param("points") BigDecimal points,
+                    @Param("now") LocalDateTime now);
+
+    /**
+     * Expiry only lowers the balance; lifetime earned and redeemed totals are left as they were.
+     * Returns 0 when the balance has meanwhile dropped below {@code points}.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE LoyaltyCard c SET c.pointsBalance = c.pointsBalance - :points, c.updatedAt = :now " +
+           "WHERE c.id = :cardId AND c.pointsBalance >= :points")
+    int expirePoints(@Param("cardId") Long cardId, @Param("points") BigDecimal points,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * Next keyset chunk of a tenant's cards that still hold points, in id order.
+     */
+    @Query("SELECT c.id AS cardId, c.pointsBalance AS pointsBalance FROM LoyaltyCard c " +
+           "WHERE c.tenantId = :tenantId AND c.id > :afterId AND c.pointsBalance > 0 ORDER BY c.id")
+    List<CardBalance> findBalancesAfter(@Param("tenantId") Long tenantId, @Param("afterId") Long afterId,
+                                        Pageable pageable);
+
+    @Query("SELECT c.pointsBalance FROM LoyaltyCard c WHERE c.id = :cardId")
+    BigDecimal findPointsBalance(@Param("cardId") Long cardId);
+
+    @Query("SELECT c.id AS cardId, c.pointsBalance AS pointsBalance FROM LoyaltyCard c WHERE c.id IN :cardIds")
+    List<CardBalance> findPointsBalances(@Param("cardIds") Collection<Long> cardIds);
+
+    interface CardBalance {
+        Long getCardId();
+
+        BigDecimal getPointsBalance();
+    }
+
+    interface ReferralCount {
+        Long getReferrerCardId();
+
+        long getReferralCount();
+    }
 }
@@ -0,0 +1,36 @@
+package com.rxbuddy.card.repository;
+
+import com.rxbuddy.card.entity.PointTransaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Batch writer for point transactions, used by the bulk paths. Ids come from the pooled
+ * table generator, so Hibernate sends the inserts as JDBC batches; rows are flushed and
+ * detached in chunks to keep the persistence context small on large bulk requests.
+ */
+@Repository
+public class PointTransactionBatchRepository {
+
+    private static final int FLUSH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public void batchInsert(List<PointTransaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+
+        for (int from = 0; from < transactions.size(); from += FLUSH_SIZE) {
+            List<PointTransaction> chunk = transactions.subList(from, Math.min(from + FLUSH_SIZE, transactions.size()));
+            chunk.forEach(entityManager::persist);
+            entityManager.flush();
+            // Written rows are not read back in the same transaction
+            chunk.forEach(entityManager::detach);
+        }
+    }
+}
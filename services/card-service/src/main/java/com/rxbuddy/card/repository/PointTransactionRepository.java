@@ -1,19 +1,112 @@
 package com.rxbuddy.card.repository;
 
+import com.rxbuddy.card.dto.TransactionExportRow;
 import com.rxbuddy.card.entity.PointTransaction;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface PointTransactionRepository extends JpaRepository<PointTransaction, Long> {
 
     Page<PointTransaction> findByCardIdOrderByCreatedAtDesc(Long cardId, Pageable pageable);
 
+    List<PointTransaction> findByCardIdOrderByCreatedAtDescIdDesc(Long cardId, Pageable pageable);
+
+    /**
+     * Seeks past (createdAt, id) on the (card_id, created_at) index; the first predicate
+     * gives MySQL a range bound, the second breaks ties within one timestamp.
+     */
+    @Query("SELECT t FROM PointTransaction t WHERE t.card.id = :cardId AND t.createdAt <= :createdAt " +
+           "AND (t.createdAt < :createdAt OR t.id < :id) ORDER BY t.createdAt DESC, t.id DESC")
+    List<PointTransaction> findByCardIdBefore(@Param("cardId") Long cardId,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+
     Page<PointTransaction> findByTenantIdOrderByCreatedAtDesc(Long tenantId, Pageable pageable);
 
     Optional<PointTransaction> findByReferenceTypeAndReferenceId(String referenceType, Long referenceId);
+
+    @Query("SELECT t FROM PointTransaction t JOIN FETCH t.card WHERE t.tenantId = :tenantId " +
+           "AND t.referenceType = :referenceType AND t.referenceId = :referenceId AND t.transactionType = :type")
+    Optional<PointTransaction> findByReference(@Param("tenantId") Long tenantId,
+                                               @Param("referenceType") String referenceType,
+                                               @Param("referenceId") Long referenceId,
+                                               @Param("type") PointTransaction.TransactionType type);
+
+    /**
+     * Original bill and referral credits for a set of bills, looked up on the reference key.
+     */
+    @Query("SELECT t FROM PointTransaction t JOIN FETCH t.card WHERE t.tenantId = :tenantId " +
+           "AND t.referenceType IN ('BILL', 'REFERRAL') AND t.referenceId IN :billIds " +
+           "AND t.transactionType IN :types")
+    List<PointTransaction> findByBillIds(@Param("tenantId") Long tenantId,
+                                         @Param("billIds") Collection<Long> billIds,
+                                         @Param("types") Collection<PointTransaction.TransactionType> types);
+
+    @Query("SELECT t.referenceId FROM PointTransaction t WHERE t.tenantId = :tenantId " +
+           "AND t.referenceType = :referenceType AND t.transactionType = :type AND t.referenceId IN :referenceIds")
+    List<Long> findExistingReferenceIds(@Param("tenantId") Long tenantId,
+                                        @Param("referenceType") String referenceType,
+                                        @Param("type") PointTransaction.TransactionType type,
+                                        @Param("referenceIds") Collection<Long> referenceIds);
+
+    /**
+     * Forward-only cursor over a tenant's transactions in [from, to), oldest first, on the
+     * (tenant_id, created_at) index. Must be consumed and closed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.rxbuddy.card.dto.TransactionExportRow(t.id, t.createdAt, c.cardNumber, t.transactionType, " +
+           "t.points, t.balanceAfter, t.referenceType, t.referenceId, t.billAmount, t.description) " +
+           "FROM PointTransaction t JOIN t.card c WHERE t.tenantId = :tenantId " +
+           "AND t.createdAt >= :from AND t.createdAt < :to ORDER BY t.createdAt, t.id")
+    Stream<TransactionExportRow> streamForExport(@Param("tenantId") Long tenantId,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to);
+
+    /**
+     * Per card: points credited before {@code cutoff} net of their reversals, and everything
+     * redeemed or expired. A reversal belongs to the period of the credit it undoes (found on
+     * the reference key), not to the FIFO debits; only redemptions and expiries consume the
+     * oldest credits first.
+     */
+    @Query("SELECT t.card.id AS cardId, " +
+           "SUM(CASE WHEN t.points > 0 AND t.createdAt < :cutoff THEN t.points " +
+           "WHEN o.createdAt < :cutoff THEN t.points ELSE 0 END) AS creditsBefore, " +
+           "SUM(CASE WHEN t.transactionType IN :debitTypes THEN -t.points ELSE 0 END) AS debits " +
+           "FROM PointTransaction t LEFT JOIN PointTransaction o ON o.tenantId = t.tenantId " +
+           "AND o.referenceId = t.referenceId AND o.points > 0 " +
+           "AND ((t.referenceType = 'BILL_REVERSAL' AND o.referenceType = 'BILL') " +
+           "OR (t.referenceType = 'REFERRAL_REVERSAL' AND o.referenceType = 'REFERRAL')) " +
+           "WHERE t.card.id IN :cardIds GROUP BY t.card.id")
+    List<PointsFlow> sumPointsFlow(@Param("cardIds") Collection<Long> cardIds,
+                                   @Param("cutoff") LocalDateTime cutoff,
+                                   @Param("debitTypes") Collection<PointTransaction.TransactionType> debitTypes);
+
+    interface PointsFlow {
+        Long getCardId();
+
+        BigDecimal getCreditsBefore();
+
+        BigDecimal getDebits();
+    }
 }
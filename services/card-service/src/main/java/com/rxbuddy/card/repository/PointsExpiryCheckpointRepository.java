@@ -0,0 +1,9 @@
+package com.rxbuddy.card.repository;
+
+import com.rxbuddy.card.entity.PointsExpiryCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PointsExpiryCheckpointRepository extends JpaRepository<PointsExpiryCheckpoint, Long> {
+}
@@ -0,0 +1,23 @@
+package com.rxbuddy.card.repository;
+
+import com.rxbuddy.card.entity.Promotion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PromotionRepository extends JpaRepository<Promotion, Long> {
+
+    List<Promotion> findByTenantIdOrderByStartsAtDesc(Long tenantId);
+
+    Optional<Promotion> findByIdAndTenantId(Long id, Long tenantId);
+
+    @Query("SELECT p FROM Promotion p WHERE p.tenantId = :tenantId AND p.isActive = true " +
+           "AND (p.endsAt IS NULL OR p.endsAt > :now)")
+    List<Promotion> findCurrentAndUpcoming(@Param("tenantId") Long tenantId, @Param("now") LocalDateTime now);
+}
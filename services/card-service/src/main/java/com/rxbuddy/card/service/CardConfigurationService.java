@@ -1,17 +1,22 @@
 package com.rxbuddy.card.service;
 
+import com.rxbuddy.card.cache.CardConfigCache;
+import com.rxbuddy.card.cache.CardConfigChangedEvent;
+import com.rxbuddy.card.cache.CardConfigSnapshot;
 import com.rxbuddy.card.dto.CardConfigurationDTO;
 import com.rxbuddy.card.dto.CategoryDiscountDTO;
 import com.rxbuddy.card.dto.CategoryPointConfigDTO;
 import com.rxbuddy.card.entity.CardConfiguration;
 import com.rxbuddy.card.entity.CategoryDiscount;
 import com.rxbuddy.card.entity.CategoryPointConfig;
+import com.rxbuddy.card.exception.CardServiceException;
 import com.rxbuddy.card.exception.ResourceNotFoundException;
 import com.rxbuddy.card.repository.CardConfigurationRepository;
 import com.rxbuddy.card.repository.CategoryDiscountRepository;
 import com.rxbuddy.card.repository.CategoryPointConfigRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,6 +32,15 @@ public class CardConfigurationService {
     private final CardConfigurationRepository configRepository;
     private final CategoryPointConfigRepository categoryPointRepository;
     private final CategoryDiscountRepository categoryDiscountRepository;
+    private final CardConfigCache configCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Cached configuration snapshot used on the earn/redeem hot path.
+     */
+    public CardConfigSnapshot getSnapshot(Long tenantId) {
+        return configCache.get(tenantId);
+    }
 
     @Transactional(readOnly = true)
     public CardConfigurationDTO getConfiguration(Long tenantId) {
@@ -53,6 +67,13 @@ public class CardConfigurationService {
                 .minPointsToRedeem(config.getMinPointsToRedeem())
                 .referralPointsPercent(config.getReferralPointsPercent())
                 .referralEnabled(config.getReferralEnabled())
+                .pointsExpiryMonths(config.getPointsExpiryMonths())
+                .tiersEnabled(config.getTiersEnabled())
+                .tierPeriodMonths(config.getTierPeriodMonths())
+                .silverSpendThreshold(config.getSilverSpendThreshold())
+                .goldSpendThreshold(config.getGoldSpendThreshold())
+                .silverPointsMultiplier(config.getSilverPointsMultiplier())
+                .goldPointsMultiplier(config.getGoldPointsMultiplier())
                 .categoryPointConfigs(pointConfigs)
                 .categoryDiscounts(discounts)
                 .build();
@@ -78,13 +99,51 @@ public class CardConfigurationService {
         if (dto.getReferralEnabled() != null) {
             config.setReferralEnabled(dto.getReferralEnabled());
         }
+        if (dto.getPointsExpiryMonths() != null) {
+            // 0 or less turns expiry off
+            config.setPointsExpiryMonths(dto.getPointsExpiryMonths() > 0 ? dto.getPointsExpiryMonths() : null);
+        }
+        updateTierRules(config, dto);
 
         configRepository.save(config);
+        eventPublisher.publishEvent(new CardConfigChangedEvent(tenantId));
         log.info("Updated card configuration for tenant {}", tenantId);
 
         return getConfiguration(tenantId);
     }
 
+    private void updateTierRules(CardConfiguration config, CardConfigurationDTO dto) {
+        if (dto.getTiersEnabled() != null) {
+            config.setTiersEnabled(dto.getTiersEnabled());
+        }
+        if (dto.getTierPeriodMonths() != null) {
+            if (dto.getTierPeriodMonths() < 1 || dto.getTierPeriodMonths() > 24) {
+                throw new CardServiceException("Tier period must be between 1 and 24 months");
+            }
+            config.setTierPeriodMonths(dto.getTierPeriodMonths());
+        }
+        if (dto.getSilverSpendThreshold() != null) {
+            config.setSilverSpendThreshold(dto.getSilverSpendThreshold());
+        }
+        if (dto.getGoldSpendThreshold() != null) {
+            config.setGoldSpendThreshold(dto.getGoldSpendThreshold());
+        }
+        if (dto.getSilverPointsMultiplier() != null) {
+            config.setSilverPointsMultiplier(dto.getSilverPointsMultiplier());
+        }
+        if (dto.getGoldPointsMultiplier() != null) {
+            config.setGoldPointsMultiplier(dto.getGoldPointsMultiplier());
+        }
+
+        if (config.getGoldSpendThreshold().compareTo(config.getSilverSpendThreshold()) <= 0) {
+            throw new CardServiceException("Gold spend threshold must be above the silver threshold");
+        }
+        if (config.getSilverPointsMultiplier().compareTo(BigDecimal.ONE) < 0
+                || config.getGoldPointsMultiplier().compareTo(config.getSilverPointsMultiplier()) < 0) {
+            throw new CardServiceException("Tier multipliers must be at least 1 and rise with the tier");
+        }
+    }
+
     @Transactional
     public CardConfigurationDTO enableCardSystem(Long tenantId) {
         CardConfiguration config = configRepository.findByTenantId(tenantId)
@@ -92,6 +151,7 @@ public class CardConfigurationService {
 
         config.setIsEnabled(true);
         configRepository.save(config);
+        eventPublisher.publishEvent(new CardConfigChangedEvent(tenantId));
         log.info("Enabled card system for tenant {}", tenantId);
 
         return getConfiguration(tenantId);
@@ -104,15 +164,14 @@ public class CardConfigurationService {
 
         config.setIsEnabled(false);
         configRepository.save(config);
+        eventPublisher.publishEvent(new CardConfigChangedEvent(tenantId));
         log.info("Disabled card system for tenant {}", tenantId);
 
         return getConfiguration(tenantId);
     }
 
     public boolean isCardSystemEnabled(Long tenantId) {
-        return configRepository.findByTenantId(tenantId)
-                .map(CardConfiguration::getIsEnabled)
-                .orElse(false);
+        return configCache.get(tenantId).isEnabled();
     }
 
     // Category Point Configs
@@ -138,6 +197,7 @@ public class CardConfigurationService {
         config.setIsActive(dto.getIsActive() != null ? dto.getIsActive() : true);
 
         config = categoryPointRepository.save(config);
+        eventPublisher.publishEvent(new CardConfigChangedEvent(tenantId));
         log.info("Saved category point config for tenant {} category {}", tenantId, dto.getCategoryId());
 
         return toCategoryPointConfigDTO(config);
@@ -153,14 +213,12 @@ public class CardConfigurationService {
         }
 
         categoryPointRepository.delete(config);
+        eventPublisher.publishEvent(new CardConfigChangedEvent(tenantId));
         log.info("Deleted category point config {} for tenant {}", configId, tenantId);
     }
 
     public BigDecimal getPointPercentage(Long tenantId, Long categoryId) {
-        return categoryPointRepository.findByTenantIdAndCategoryId(tenantId, categoryId)
-                .filter(c -> Boolean.TRUE.equals(c.getIsActive()))
-                .map(CategoryPointConfig::getPointPercentage)
-                .orElse(new BigDecimal("1.00")); // Default 1% if not configured
+        return configCache.get(tenantId).getPointPercentage(categoryId); // Default 1% if not configured
     }
 
     // Category Discounts
@@ -186,6 +244,7 @@ public class CardConfigurationService {
         discount.setIsActive(dto.getIsActive() != null ? dto.getIsActive() : true);
 
         discount = categoryDiscountRepository.save(discount);
+        eventPublisher.publishEvent(new CardConfigChangedEvent(tenantId));
         log.info("Saved category discount for tenant {} category {}", tenantId, dto.getCategoryId());
 
         return toCategoryDiscountDTO(discount);
@@ -201,6 +260,7 @@ public class CardConfigurationService {
         }
 
         categoryDiscountRepository.delete(discount);
+        eventPublisher.publishEvent(new CardConfigChangedEvent(tenantId));
         log.info("Deleted category discount {} for tenant {}", discountId, tenantId);
     }
 
@@ -0,0 +1,115 @@
+package com.rxbuddy.card.service;
+
+import com.rxbuddy.card.repository.CardNumberSequenceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Issues card numbers of the form {@code RXB-TTT-SSSSSSSC}: tenant part, a per-tenant
+ * serial and a Luhn check digit over all digits, so POS scanners can reject typos locally.
+ * <p>
+ * Serials are reserved from {@code card_number_sequences} in blocks, in their own short
+ * transaction, and handed out from memory; numbers left in a block when the service stops
+ * are simply skipped. Unique by construction, so no existence probing is needed.
+ * <p>
+ * Each tenant's block is guarded by a {@link ReentrantLock} rather than a monitor: the
+ * refill runs a database transaction, and a virtual thread blocked inside
+ * {@code synchronized} would pin its carrier for the whole round trip.
+ */
+@Slf4j
+@Component
+public class CardNumberAllocator {
+
+    private static final String PREFIX = "RXB-";
+
+    private final CardNumberSequenceRepository sequenceRepository;
+    private final TransactionTemplate newTransaction;
+    private final long blockSize;
+    private final Map<Long, Block> blocks = new ConcurrentHashMap<>();
+
+    public CardNumberAllocator(CardNumberSequenceRepository sequenceRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.card.number-block-size:100}") long blockSize) {
+        this.sequenceRepository = sequenceRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+    }
+
+    public String nextCardNumber(Long tenantId) {
+        Block block = blocks.computeIfAbsent(tenantId, id -> new Block());
+        block.lock.lock();
+        try {
+            if (block.next >= block.end) {
+                block.next = reserve(tenantId);
+                block.end = block.next + blockSize;
+            }
+            return format(tenantId, block.next++);
+        } finally {
+            block.lock.unlock();
+        }
+    }
+
+    static String format(Long tenantId, long serial) {
+        String digits = String.format("%03d%07d", tenantId % 1000, serial);
+        return PREFIX + digits.substring(0, 3) + "-" + digits.substring(3) + luhnCheckDigit(digits);
+    }
+
+    private static char luhnCheckDigit(String digits) {
+        int sum = 0;
+        boolean doubleIt = true;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int d = digits.charAt(i) - '0';
+            if (doubleIt) {
+                d *= 2;
+                if (d > 9) {
+                    d -= 9;
+                }
+            }
+            sum += d;
+            doubleIt = !doubleIt;
+        }
+        return (char) ('0' + (10 - sum % 10) % 10);
+    }
+
+    /**
+     * Moves the tenant's high-water mark up by one block and returns the block's first serial.
+     */
+    private long reserve(Long tenantId) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                long start = newTransaction.execute(status -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    if (sequenceRepository.advance(tenantId, blockSize, now) == 0) {
+                        sequenceRepository.insert(tenantId, 1 + blockSize, now);
+                        return 1L;
+                    }
+                    return sequenceRepository.findNextValue(tenantId) - blockSize;
+                });
+                log.debug("Reserved card serials {}-{} for tenant {}", start, start + blockSize - 1, tenantId);
+                return start;
+            } catch (DataIntegrityViolationException e) {
+                // Another instance created the tenant's sequence row first; advance it instead
+                if (attempt > 0) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static final class Block {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long next;
+        private long end;
+    }
+}
@@ -1,26 +1,43 @@
 package com.rxbuddy.card.service;
 
+import com.rxbuddy.card.cache.CardConfigSnapshot;
+import com.rxbuddy.card.cache.CardCreatedEvent;
+import com.rxbuddy.card.cache.CardNameIndex;
+import com.rxbuddy.card.cache.PromotionEvaluator;
+import com.rxbuddy.card.cache.RecentBillCache;
+import com.rxbuddy.card.cache.TierRules;
 import com.rxbuddy.card.dto.*;
-import com.rxbuddy.card.entity.CardConfiguration;
+import com.rxbuddy.card.entity.BillMarker;
 import com.rxbuddy.card.entity.LoyaltyCard;
 import com.rxbuddy.card.entity.PointTransaction;
 import com.rxbuddy.card.exception.CardServiceException;
 import com.rxbuddy.card.exception.ResourceNotFoundException;
-import com.rxbuddy.card.repository.CardConfigurationRepository;
+import com.rxbuddy.card.repository.BillMarkerBatchRepository;
+import com.rxbuddy.card.repository.BillMarkerRepository;
 import com.rxbuddy.card.repository.LoyaltyCardRepository;
+import com.rxbuddy.card.repository.PointTransactionBatchRepository;
 import com.rxbuddy.card.repository.PointTransactionRepository;
+import com.rxbuddy.card.util.PointsMath;
+import com.rxbuddy.common.dto.CursorPageResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -29,20 +46,65 @@ import java.util.stream.Collectors;
 public class LoyaltyCardService {
 
     private final LoyaltyCardRepository cardRepository;
-    private final CardConfigurationRepository configRepository;
     private final PointTransactionRepository transactionRepository;
+    private final PointTransactionBatchRepository transactionBatchRepository;
+    private final BillMarkerRepository billMarkerRepository;
+    private final BillMarkerBatchRepository billMarkerBatchRepository;
     private final CardConfigurationService configService;
+    private final RecentBillCache recentBills;
+    private final CardNumberAllocator cardNumberAllocator;
+    private final CardNameIndex cardNameIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int CARD_LOOKUP_CHUNK_SIZE = 1000;
+    private static final int MAX_NAME_MATCHES = 1000;
+    private static final int MAX_SEEK_PAGE_SIZE = 100;
+    private static final String BILL_REVERSAL = "BILL_REVERSAL";
+    private static final String REFERRAL_REVERSAL = "REFERRAL_REVERSAL";
+    private static final Set<PointTransaction.TransactionType> EARNED_TYPES = EnumSet.of(
+            PointTransaction.TransactionType.EARNED, PointTransaction.TransactionType.REFERRAL_EARNED);
+    private static final Pattern PHONE_SEARCH = Pattern.compile("\\d+");
+    private static final String CARD_NUMBER_PREFIX = "RXB";
 
     @Transactional(readOnly = true)
     public Page<LoyaltyCardDTO> getAllCards(Long tenantId, Pageable pageable) {
-        return cardRepository.findByTenantId(tenantId, pageable)
-                .map(this::toCardDTO);
+        Page<LoyaltyCard> cards = cardRepository.findByTenantId(tenantId, pageable);
+        Map<Long, Long> referralCounts = countReferrals(tenantId, cards.getContent());
+        return cards.map(card -> toCardDTO(card, referralCounts.getOrDefault(card.getId(), 0L)));
     }
 
+    /**
+     * Type-ahead search. Digits match the start or end of the phone number, "RXB..." matches
+     * the start of the card number (both index prefix scans); anything else is looked up
+     * in the in-memory name index, capped at {@value #MAX_NAME_MATCHES} matches.
+     */
     @Transactional(readOnly = true)
     public Page<LoyaltyCardDTO> searchCards(Long tenantId, String search, Pageable pageable) {
-        return cardRepository.searchCards(tenantId, search, pageable)
-                .map(this::toCardDTO);
+        String term = search.trim();
+        Page<LoyaltyCard> cards;
+
+        if (PHONE_SEARCH.matcher(term).matches()) {
+            cards = cardRepository.searchByPhone(tenantId, term, LoyaltyCard.reversePhone(term), pageable);
+        } else if (term.regionMatches(true, 0, CARD_NUMBER_PREFIX, 0, CARD_NUMBER_PREFIX.length())) {
+            cards = cardRepository.findByTenantIdAndCardNumberStartingWith(
+                    tenantId, term.toUpperCase(Locale.ROOT), pageable);
+        } else {
+            List<Long> ids = cardNameIndex.search(tenantId, term, MAX_NAME_MATCHES);
+            int from = (int) Math.min(pageable.getOffset(), ids.size());
+            List<Long> pageIds = ids.subList(from, Math.min(from + pageable.getPageSize(), ids.size()));
+
+            Map<Long, LoyaltyCard> byId = cardRepository.findByIdIn(pageIds).stream()
+                    .collect(Collectors.toMap(LoyaltyCard::getId, card -> card));
+            List<LoyaltyCard> content = pageIds.stream()
+                    .map(byId::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+            cards = new PageImpl<>(content, pageable, ids.size());
+        }
+
+        Map<Long, Long> referralCounts = countReferrals(tenantId, cards.getContent());
+        return cards.map(card -> toCardDTO(card, referralCounts.getOrDefault(card.getId(), 0L)));
     }
 
     @Transactional(readOnly = true)
@@ -79,8 +141,8 @@ public class LoyaltyCardService {
             throw new CardServiceException("Customer already has a loyalty card");
         }
 
-        // Generate unique card number
-        String cardNumber = generateCardNumber(tenantId);
+        // Allocate unique card number
+        String cardNumber = cardNumberAllocator.nextCardNumber(tenantId);
 
         // Find referrer if provided
         LoyaltyCard referrerCard = null;
@@ -101,9 +163,10 @@ public class LoyaltyCardService {
                 .build();
 
         card = cardRepository.save(card);
+        eventPublisher.publishEvent(new CardCreatedEvent(tenantId, card.getId(), card.getCustomerName()));
         log.info("Created loyalty card {} for customer {} in tenant {}", cardNumber, request.getCustomerId(), tenantId);
 
-        return toCardDTO(card);
+        return toCardDTO(card, 0L);
     }
 
     @Transactional
@@ -132,14 +195,44 @@ public class LoyaltyCardService {
 
     @Transactional(readOnly = true)
     public List<LoyaltyCardDTO> getReferrals(Long tenantId, Long cardId) {
-        return cardRepository.findReferrals(tenantId, cardId)
-                .stream()
-                .map(this::toCardDTO)
+        List<LoyaltyCard> referrals = cardRepository.findReferrals(tenantId, cardId);
+        Map<Long, Long> referralCounts = countReferrals(tenantId, referrals);
+        return referrals.stream()
+                .map(card -> toCardDTO(card, referralCounts.getOrDefault(card.getId(), 0L)))
                 .collect(Collectors.toList());
     }
 
-    @Transactional
+    /**
+     * Idempotent on (tenant, bill): a retried bill gets the original response back,
+     * from {@link RecentBillCache} if it is recent, otherwise from its stored transaction
+     * once the unique reference key rejects the second credit.
+     */
     public EarnPointsResponse earnPoints(Long tenantId, EarnPointsRequest request) {
+        EarnPointsResponse recent = recentBills.getEarned(tenantId, request.getBillId());
+        if (recent != null) {
+            log.info("Bill {} already earned points in tenant {}, returning original response",
+                    request.getBillId(), tenantId);
+            return recent;
+        }
+
+        EarnPointsResponse response;
+        try {
+            response = transactionTemplate.execute(status -> doEarnPoints(tenantId, request));
+        } catch (DataIntegrityViolationException e) {
+            response = findOriginalEarn(tenantId, request.getBillId()).orElseThrow(() -> e);
+            log.info("Bill {} already earned points in tenant {}, returning original response",
+                    request.getBillId(), tenantId);
+        }
+
+        recentBills.putEarned(tenantId, request.getBillId(), response);
+        return response;
+    }
+
+    private EarnPointsResponse doEarnPoints(Long tenantId, EarnPointsRequest request) {
+        if (!lockBills(tenantId, List.of(request.getBillId())).isEmpty()) {
+            throw new CardServiceException("Bill " + request.getBillId() + " was cancelled");
+        }
+
         // Get card
         LoyaltyCard card = cardRepository.findByTenantIdAndCardNumber(tenantId, request.getCardNumber())
                 .orElseThrow(() -> new ResourceNotFoundException("Card not found: " + request.getCardNumber()));
@@ -149,25 +242,43 @@ public class LoyaltyCardService {
         }
 
         // Get configuration
-        CardConfiguration config = configRepository.findByTenantId(tenantId)
-                .orElseThrow(() -> new CardServiceException("Card system not configured"));
+        CardConfigSnapshot config = getEnabledConfig(tenantId);
 
-        if (!Boolean.TRUE.equals(config.getIsEnabled())) {
-            throw new CardServiceException("Card system is not enabled");
-        }
+        // The tier held before this bill sets its multiplier; the bill's spend may promote the card
+        TierRules tiers = config.getTierRules();
+        int tierPeriod = tiers.periodOf(LocalDate.now());
+        LoyaltyCard.Tier tier = tiers.tierFor(card.qualifyingSpend(tierPeriod, BigDecimal.ZERO));
+        long multiplier = tiers.multiplier(tier);
+        PromotionEvaluator.Rates promotions = config.getPromotions().at(LocalDateTime.now());
 
         // Calculate points for each category
-        BigDecimal totalPoints = BigDecimal.ZERO;
+        long points = 0;
         for (EarnPointsRequest.BillItem item : request.getItems()) {
-            BigDecimal percentage = configService.getPointPercentage(tenantId, item.getCategoryId());
-            BigDecimal points = item.getAmount()
-                    .multiply(percentage)
-                    .divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP);
-            totalPoints = totalPoints.add(points);
+            points += itemPoints(config, item, multiplier, promotions);
+        }
+        BigDecimal totalPoints = PointsMath.toDecimal(points);
+
+        // Calculate referral points (only if referrer exists and referral is enabled)
+        LoyaltyCard referrerCard = card.getReferrerCard();
+        BigDecimal referrerPoints = BigDecimal.ZERO;
+
+        if (referrerCard != null && config.isReferralEnabled()) {
+            referrerPoints = referralPoints(config, request.getBillAmount());
         }
+        boolean creditReferrer = referrerPoints.compareTo(BigDecimal.ZERO) > 0;
+
+        // Apply both balance changes atomically in the database
+        Map<Long, CardCredit> credits = new TreeMap<>();
+        CardCredit cardCredit = credits.computeIfAbsent(card.getId(), id -> new CardCredit());
+        cardCredit.addEarned(totalPoints);
+        cardCredit.addSpend(request.getBillAmount());
+        if (creditReferrer) {
+            credits.computeIfAbsent(referrerCard.getId(), id -> new CardCredit()).addReferral(referrerPoints);
+        }
+        applyCredits(credits, tierPeriod);
+        LoyaltyCard.Tier newTier = updateTiers(credits, tiers).getOrDefault(card.getId(), tier);
 
-        // Add points to card
-        card.addPoints(totalPoints);
+        BigDecimal newBalance = cardRepository.findPointsBalance(card.getId());
 
         // Create transaction record
         PointTransaction transaction = PointTransaction.builder()
@@ -175,7 +286,7 @@ public class LoyaltyCardService {
                 .card(card)
                 .transactionType(PointTransaction.TransactionType.EARNED)
                 .points(totalPoints)
-                .balanceAfter(card.getPointsBalance())
+                .balanceAfter(newBalance)
                 .referenceType("BILL")
                 .referenceId(request.getBillId())
                 .billAmount(request.getBillAmount())
@@ -184,43 +295,28 @@ public class LoyaltyCardService {
                 .build();
 
         transactionRepository.save(transaction);
-        cardRepository.save(card);
 
-        // Handle referral points (only if referrer exists and referral is enabled)
-        BigDecimal referrerPoints = BigDecimal.ZERO;
         String referrerCardNumber = null;
 
-        if (card.getReferrerCard() != null && Boolean.TRUE.equals(config.getReferralEnabled())) {
-            LoyaltyCard referrerCard = card.getReferrerCard();
-
-            // Calculate referral points
-            referrerPoints = request.getBillAmount()
-                    .multiply(config.getReferralPointsPercent())
-                    .divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP);
-
-            if (referrerPoints.compareTo(BigDecimal.ZERO) > 0) {
-                referrerCard.addReferralPoints(referrerPoints);
-
-                // Create referral transaction
-                PointTransaction referralTx = PointTransaction.builder()
-                        .tenantId(tenantId)
-                        .card(referrerCard)
-                        .transactionType(PointTransaction.TransactionType.REFERRAL_EARNED)
-                        .points(referrerPoints)
-                        .balanceAfter(referrerCard.getPointsBalance())
-                        .referenceType("REFERRAL")
-                        .referenceId(request.getBillId())
-                        .referredCardId(card.getId())
-                        .referredBillId(request.getBillId())
-                        .billAmount(request.getBillAmount())
-                        .description("Referral points from " + card.getCustomerName() + "'s purchase")
-                        .performedBy(request.getPerformedBy())
-                        .build();
-
-                transactionRepository.save(referralTx);
-                cardRepository.save(referrerCard);
-                referrerCardNumber = referrerCard.getCardNumber();
-            }
+        if (creditReferrer) {
+            // Create referral transaction
+            PointTransaction referralTx = PointTransaction.builder()
+                    .tenantId(tenantId)
+                    .card(referrerCard)
+                    .transactionType(PointTransaction.TransactionType.REFERRAL_EARNED)
+                    .points(referrerPoints)
+                    .balanceAfter(cardRepository.findPointsBalance(referrerCard.getId()))
+                    .referenceType("REFERRAL")
+                    .referenceId(request.getBillId())
+                    .referredCardId(card.getId())
+                    .referredBillId(request.getBillId())
+                    .billAmount(request.getBillAmount())
+                    .description("Referral points from " + card.getCustomerName() + "'s purchase")
+                    .performedBy(request.getPerformedBy())
+                    .build();
+
+            transactionRepository.save(referralTx);
+            referrerCardNumber = referrerCard.getCardNumber();
         }
 
         log.info("Earned {} points for card {} in tenant {} (bill {})",
@@ -228,14 +324,331 @@ public class LoyaltyCardService {
 
         return EarnPointsResponse.builder()
                 .pointsEarned(totalPoints)
-                .newBalance(card.getPointsBalance())
+                .tier(newTier.name())
+                .newBalance(newBalance)
                 .referrerPointsEarned(referrerPoints)
                 .referrerCardNumber(referrerCardNumber)
                 .build();
     }
 
+    /**
+     * Bulk variant of {@link #earnPoints} for replaying a backlog of bills.
+     * Cards are loaded in chunks, transaction rows are written with JDBC batch inserts
+     * and each touched card gets one atomic balance update, no matter how many bills it had.
+     * Bills that cannot be processed, including bills cancelled before they were credited,
+     * are reported back instead of failing the batch.
+     */
+    @Transactional
+    public BulkEarnPointsResponse earnPointsBulk(Long tenantId, List<EarnPointsRequest> bills) {
+        CardConfigSnapshot config = getEnabledConfig(tenantId);
+        Map<String, LoyaltyCard> cards = findCardsByNumber(tenantId, bills);
+        List<Long> billIds = bills.stream()
+                .map(EarnPointsRequest::getBillId)
+                .distinct()
+                .collect(Collectors.toList());
+        Set<Long> cancelledBillIds = lockBills(tenantId, billIds);
+        Set<Long> processedBillIds = new HashSet<>(billIds.size() * 2);
+        for (int from = 0; from < billIds.size(); from += CARD_LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = billIds.subList(from, Math.min(from + CARD_LOOKUP_CHUNK_SIZE, billIds.size()));
+            processedBillIds.addAll(transactionRepository.findExistingReferenceIds(
+                    tenantId, "BILL", PointTransaction.TransactionType.EARNED, chunk));
+        }
+
+        List<PointTransaction> transactions = new ArrayList<>(bills.size() * 2);
+        List<BulkEarnPointsResponse.FailedBill> failures = new ArrayList<>();
+        Map<Long, CardCredit> credits = new TreeMap<>();
+        BigDecimal totalPoints = BigDecimal.ZERO;
+        BigDecimal totalReferrerPoints = BigDecimal.ZERO;
+        TierRules tiers = config.getTierRules();
+        int tierPeriod = tiers.periodOf(LocalDate.now());
+        PromotionEvaluator.Rates promotions = config.getPromotions().at(LocalDateTime.now());
+
+        for (EarnPointsRequest bill : bills) {
+            if (cancelledBillIds.contains(bill.getBillId())) {
+                failures.add(failedBill(bill, BulkEarnPointsResponse.FailedBill.BILL_CANCELLED));
+                continue;
+            }
+            // Bills credited earlier, or repeated within this batch, are skipped
+            if (!processedBillIds.add(bill.getBillId())) {
+                failures.add(failedBill(bill, BulkEarnPointsResponse.FailedBill.ALREADY_PROCESSED));
+                continue;
+            }
+
+            LoyaltyCard card = cards.get(bill.getCardNumber());
+            if (card == null) {
+                failures.add(failedBill(bill, BulkEarnPointsResponse.FailedBill.CARD_NOT_FOUND));
+                continue;
+            }
+            if (!Boolean.TRUE.equals(card.getIsActive())) {
+                failures.add(failedBill(bill, BulkEarnPointsResponse.FailedBill.CARD_INACTIVE));
+                continue;
+            }
+
+            // Earlier bills for the same card in this batch count towards its tier
+            CardCredit credit = credits.computeIfAbsent(card.getId(), id -> new CardCredit());
+            long multiplier = tiers.multiplier(tiers.tierFor(card.qualifyingSpend(tierPeriod, credit.spend)));
+
+            long billPoints = 0;
+            for (EarnPointsRequest.BillItem item : bill.getItems()) {
+                billPoints += itemPoints(config, item, multiplier, promotions);
+            }
+            BigDecimal points = PointsMath.toDecimal(billPoints);
+
+            credit.addEarned(points);
+            credit.addSpend(bill.getBillAmount());
+            totalPoints = totalPoints.add(points);
+
+            transactions.add(PointTransaction.builder()
+                    .tenantId(tenantId)
+                    .card(card)
+                    .transactionType(PointTransaction.TransactionType.EARNED)
+                    .points(points)
+                    .referenceType("BILL")
+                    .referenceId(bill.getBillId())
+                    .billAmount(bill.getBillAmount())
+                    .description("Points earned from bill #" + bill.getBillId())
+                    .performedBy(bill.getPerformedBy())
+                    .build());
+
+            LoyaltyCard referrerCard = card.getReferrerCard();
+            if (referrerCard != null && config.isReferralEnabled()) {
+                BigDecimal referrerPoints = referralPoints(config, bill.getBillAmount());
+
+                if (referrerPoints.compareTo(BigDecimal.ZERO) > 0) {
+                    credits.computeIfAbsent(referrerCard.getId(), id -> new CardCredit()).addReferral(referrerPoints);
+                    totalReferrerPoints = totalReferrerPoints.add(referrerPoints);
+
+                    transactions.add(PointTransaction.builder()
+                            .tenantId(tenantId)
+                            .card(referrerCard)
+                            .transactionType(PointTransaction.TransactionType.REFERRAL_EARNED)
+                            .points(referrerPoints)
+                            .referenceType("REFERRAL")
+                            .referenceId(bill.getBillId())
+                            .referredCardId(card.getId())
+                            .referredBillId(bill.getBillId())
+                            .billAmount(bill.getBillAmount())
+                            .description("Referral points from " + card.getCustomerName() + "'s purchase")
+                            .performedBy(bill.getPerformedBy())
+                            .build());
+                }
+            }
+        }
+
+        applyCredits(credits, tierPeriod);
+        updateTiers(credits, tiers);
+        fillBalancesAfter(transactions, credits);
+        transactionBatchRepository.batchInsert(transactions);
+
+        log.info("Bulk earned {} points ({} referral) for {} of {} bills in tenant {}",
+                totalPoints, totalReferrerPoints, bills.size() - failures.size(), bills.size(), tenantId);
+
+        return BulkEarnPointsResponse.builder()
+                .totalBills(bills.size())
+                .processedBills(bills.size() - failures.size())
+                .failedBills(failures.size())
+                .totalPointsEarned(totalPoints)
+                .totalReferrerPointsEarned(totalReferrerPoints)
+                .failures(failures)
+                .build();
+    }
+
+    /**
+     * Reverses the points a set of cancelled bills earned, for the customer and the referrer.
+     * Each original credit gets a compensating ADJUSTED row (reference BILL_REVERSAL or
+     * REFERRAL_REVERSAL), written in one batch; balances change by one atomic delta per card,
+     * so a voided shift of thousands of bills costs a handful of statements. Bills that never
+     * earned points or were already reversed are skipped. A balance may go negative when the
+     * reversed points were already redeemed.
+     * <p>
+     * Every bill is also marked cancelled, so a credit that arrives after its cancellation
+     * (bill events are asynchronous) is refused by {@link #earnPoints} and {@link #earnPointsBulk}.
+     */
     @Transactional
+    public ReversePointsResponse reversePoints(Long tenantId, ReversePointsRequest request) {
+        List<Long> billIds = request.getBillIds().stream().distinct().collect(Collectors.toList());
+
+        // Markers are locked first, before anything is read: a credit still in flight holds
+        // its bill's marker until it commits, so the reads below then see its rows
+        lockBills(tenantId, billIds);
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < billIds.size(); from += CARD_LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = billIds.subList(from, Math.min(from + CARD_LOOKUP_CHUNK_SIZE, billIds.size()));
+            billMarkerRepository.markCancelled(tenantId, chunk, request.getReason(), now);
+        }
+
+        List<PointTransaction> originals = new ArrayList<>();
+        Set<Long> reversed = new HashSet<>();
+        for (int from = 0; from < billIds.size(); from += CARD_LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = billIds.subList(from, Math.min(from + CARD_LOOKUP_CHUNK_SIZE, billIds.size()));
+            originals.addAll(transactionRepository.findByBillIds(tenantId, chunk, EARNED_TYPES));
+            reversed.addAll(transactionRepository.findExistingReferenceIds(
+                    tenantId, BILL_REVERSAL, PointTransaction.TransactionType.ADJUSTED, chunk));
+        }
+
+        List<PointTransaction> transactions = new ArrayList<>(originals.size());
+        Map<Long, CardCredit> credits = new TreeMap<>();
+        Set<Long> reversedBills = new HashSet<>();
+        BigDecimal totalPoints = BigDecimal.ZERO;
+        BigDecimal totalReferrerPoints = BigDecimal.ZERO;
+        String suffix = request.getReason() == null || request.getReason().isBlank() ? "" : ": " + request.getReason();
+
+        for (PointTransaction original : originals) {
+            if (reversed.contains(original.getReferenceId())) {
+                continue;
+            }
+            boolean referral = original.getTransactionType() == PointTransaction.TransactionType.REFERRAL_EARNED;
+            BigDecimal points = original.getPoints().negate();
+            CardCredit credit = credits.computeIfAbsent(original.getCard().getId(), id -> new CardCredit());
+
+            if (referral) {
+                credit.addReferral(points);
+                totalReferrerPoints = totalReferrerPoints.add(original.getPoints());
+            } else {
+                credit.addEarned(points);
+                totalPoints = totalPoints.add(original.getPoints());
+            }
+            reversedBills.add(original.getReferenceId());
+
+            transactions.add(PointTransaction.builder()
+                    .tenantId(tenantId)
+                    .card(original.getCard())
+                    .transactionType(PointTransaction.TransactionType.ADJUSTED)
+                    .points(points)
+                    .referenceType(referral ? REFERRAL_REVERSAL : BILL_REVERSAL)
+                    .referenceId(original.getReferenceId())
+                    .billAmount(original.getBillAmount())
+                    .referredCardId(original.getReferredCardId())
+                    .referredBillId(original.getReferredBillId())
+                    .description((referral ? "Referral points reversed for cancelled bill #" : "Points reversed for cancelled bill #")
+                            + original.getReferenceId() + suffix)
+                    .performedBy(request.getPerformedBy())
+                    .build());
+        }
+
+        applyCredits(credits, null);
+        fillBalancesAfter(transactions, credits);
+        transactionBatchRepository.batchInsert(transactions);
+
+        log.info("Reversed {} points ({} referral) for {} of {} cancelled bills in tenant {}",
+                totalPoints, totalReferrerPoints, reversedBills.size(), billIds.size(), tenantId);
+
+        return ReversePointsResponse.builder()
+                .totalBills(billIds.size())
+                .reversedBills(reversedBills.size())
+                .skippedBills(billIds.size() - reversedBills.size())
+                .totalPointsReversed(totalPoints)
+                .totalReferrerPointsReversed(totalReferrerPoints)
+                .build();
+    }
+
+    /**
+     * Prices a bill for the POS without writing anything: category discounts, points per line
+     * and the most points the customer could redeem on it. Runs only against the cached
+     * configuration snapshot, outside any transaction, so a warm call touches no database.
+     */
+    public CalculatePointsResponse calculate(Long tenantId, CalculatePointsRequest request) {
+        CardConfigSnapshot config = getEnabledConfig(tenantId);
+
+        LoyaltyCard.Tier tier;
+        try {
+            tier = request.getTier() != null ? LoyaltyCard.Tier.valueOf(request.getTier()) : LoyaltyCard.Tier.BRONZE;
+        } catch (IllegalArgumentException e) {
+            throw new CardServiceException("Unknown tier: " + request.getTier());
+        }
+        long multiplier = config.getTierRules().multiplier(tier);
+        PromotionEvaluator.Rates promotions = config.getPromotions().at(LocalDateTime.now());
+
+        List<CalculatePointsResponse.Line> lines = new ArrayList<>(request.getItems().size());
+        long grossAmount = 0;
+        long discountAmount = 0;
+        long points = 0;
+
+        // Item amounts are validated to whole paise, so the line math stays in hundredths
+        for (CalculatePointsRequest.Item item : request.getItems()) {
+            long amount = PointsMath.toHundredths(item.getAmount());
+            long discountPercentage = config.discountPercentage(item.getCategoryId());
+            long discount = config.lineDiscount(item.getAmount(), item.getCategoryId());
+            long netAmount = amount - discount;
+            // Same line pricing as earning, so the preview is what the bill will be credited
+            long linePoints = config.linePoints(item.getAmount(), item.getCategoryId(), multiplier, promotions);
+
+            lines.add(CalculatePointsResponse.Line.builder()
+                    .categoryId(item.getCategoryId())
+                    .categoryName(item.getCategoryName())
+                    .amount(item.getAmount())
+                    .discountPercentage(PointsMath.toDecimal(discountPercentage))
+                    .discountAmount(PointsMath.toDecimal(discount))
+                    .netAmount(PointsMath.toDecimal(netAmount))
+                    .points(PointsMath.toDecimal(linePoints))
+                    .build());
+
+            grossAmount += amount;
+            discountAmount += discount;
+            points += linePoints;
+        }
+
+        BigDecimal netAmount = PointsMath.toDecimal(grossAmount - discountAmount);
+        BigDecimal maxRedeemablePoints = maxRedeemablePoints(config, netAmount, request.getPointsBalance());
+
+        return CalculatePointsResponse.builder()
+                .lines(lines)
+                .grossAmount(PointsMath.toDecimal(grossAmount))
+                .discountAmount(PointsMath.toDecimal(discountAmount))
+                .netAmount(netAmount)
+                .pointsEarned(PointsMath.toDecimal(points))
+                .tier(tier.name())
+                .maxRedeemablePoints(maxRedeemablePoints)
+                .maxRedeemableAmount(maxRedeemablePoints.multiply(config.getPointsToAmountRate())
+                        .setScale(2, RoundingMode.DOWN))
+                .build();
+    }
+
+    /**
+     * Largest redemption {@link #redeemPoints} would accept on a bill of {@code billAmount}:
+     * capped by the maximum redemption percent and the balance, and zero below the minimum.
+     */
+    private BigDecimal maxRedeemablePoints(CardConfigSnapshot config, BigDecimal billAmount, BigDecimal balance) {
+        if (config.getPointsToAmountRate() == null || config.getPointsToAmountRate().signum() <= 0) {
+            return BigDecimal.ZERO;
+        }
+
+        BigDecimal maxAmount = maxRedemptionAmount(config, billAmount);
+        BigDecimal points = maxAmount.divide(config.getPointsToAmountRate(), 2, RoundingMode.DOWN);
+        if (balance != null) {
+            points = points.min(balance);
+        }
+        if (points.compareTo(new BigDecimal(config.getMinPointsToRedeem())) < 0) {
+            return BigDecimal.ZERO;
+        }
+        return points;
+    }
+
+    /**
+     * Idempotent on (tenant, bill), like {@link #earnPoints}.
+     */
     public RedeemPointsResponse redeemPoints(Long tenantId, RedeemPointsRequest request) {
+        RedeemPointsResponse recent = recentBills.getRedeemed(tenantId, request.getBillId());
+        if (recent != null) {
+            log.info("Bill {} already redeemed points in tenant {}, returning original response",
+                    request.getBillId(), tenantId);
+            return recent;
+        }
+
+        RedeemPointsResponse response;
+        try {
+            response = transactionTemplate.execute(status -> doRedeemPoints(tenantId, request));
+        } catch (DataIntegrityViolationException e) {
+            response = findOriginalRedemption(tenantId, request.getBillId()).orElseThrow(() -> e);
+            log.info("Bill {} already redeemed points in tenant {}, returning original response",
+                    request.getBillId(), tenantId);
+        }
+
+        recentBills.putRedeemed(tenantId, request.getBillId(), response);
+        return response;
+    }
+
+    private RedeemPointsResponse doRedeemPoints(Long tenantId, RedeemPointsRequest request) {
         // Get card
         LoyaltyCard card = cardRepository.findByTenantIdAndCardNumber(tenantId, request.getCardNumber())
                 .orElseThrow(() -> new ResourceNotFoundException("Card not found: " + request.getCardNumber()));
@@ -245,19 +658,14 @@ public class LoyaltyCardService {
         }
 
         // Get configuration
-        CardConfiguration config = configRepository.findByTenantId(tenantId)
-                .orElseThrow(() -> new CardServiceException("Card system not configured"));
-
-        if (!Boolean.TRUE.equals(config.getIsEnabled())) {
-            throw new CardServiceException("Card system is not enabled");
-        }
+        CardConfigSnapshot config = getEnabledConfig(tenantId);
 
         // Validate minimum points
         if (request.getPoints().compareTo(new BigDecimal(config.getMinPointsToRedeem())) < 0) {
             throw new CardServiceException("Minimum " + config.getMinPointsToRedeem() + " points required to redeem");
         }
 
-        // Validate balance
+        // Validate balance (re-checked atomically by the debit below)
         if (card.getPointsBalance().compareTo(request.getPoints()) < 0) {
             throw new CardServiceException("Insufficient points balance");
         }
@@ -266,17 +674,19 @@ public class LoyaltyCardService {
         BigDecimal amountDeducted = request.getPoints().multiply(config.getPointsToAmountRate());
 
         // Validate max redemption
-        BigDecimal maxRedemptionAmount = request.getBillAmount()
-                .multiply(config.getMaxRedemptionPercent())
-                .divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP);
+        BigDecimal maxRedemptionAmount = maxRedemptionAmount(config, request.getBillAmount());
 
         if (amountDeducted.compareTo(maxRedemptionAmount) > 0) {
             throw new CardServiceException("Redemption amount exceeds maximum allowed (" +
                     config.getMaxRedemptionPercent() + "% of bill)");
         }
 
-        // Redeem points
-        card.redeemPoints(request.getPoints());
+        // Redeem points; a concurrent redemption may have spent the balance since it was read
+        if (cardRepository.debitPoints(card.getId(), request.getPoints(), LocalDateTime.now()) == 0) {
+            throw new CardServiceException("Insufficient points balance");
+        }
+
+        BigDecimal newBalance = cardRepository.findPointsBalance(card.getId());
 
         // Create transaction
         PointTransaction transaction = PointTransaction.builder()
@@ -284,7 +694,7 @@ public class LoyaltyCardService {
                 .card(card)
                 .transactionType(PointTransaction.TransactionType.REDEEMED)
                 .points(request.getPoints().negate())
-                .balanceAfter(card.getPointsBalance())
+                .balanceAfter(newBalance)
                 .referenceType("BILL")
                 .referenceId(request.getBillId())
                 .billAmount(request.getBillAmount())
@@ -293,7 +703,6 @@ public class LoyaltyCardService {
                 .build();
 
         transactionRepository.save(transaction);
-        cardRepository.save(card);
 
         log.info("Redeemed {} points (₹{}) for card {} in tenant {} (bill {})",
                 request.getPoints(), amountDeducted, request.getCardNumber(), tenantId, request.getBillId());
@@ -301,12 +710,17 @@ public class LoyaltyCardService {
         return RedeemPointsResponse.builder()
                 .pointsRedeemed(request.getPoints())
                 .amountDeducted(amountDeducted)
-                .newBalance(card.getPointsBalance())
+                .newBalance(newBalance)
                 .build();
     }
 
     @Transactional(readOnly = true)
     public Page<PointTransactionDTO> getTransactions(Long tenantId, Long cardId, Pageable pageable) {
+        // Deep offset pages get linearly slower on long histories; later pages come from getTransactionsBefore
+        if (pageable.getPageNumber() > 0) {
+            throw new CardServiceException("Only the first page is available here; use /transactions/seek with nextCursor");
+        }
+
         // Verify card belongs to tenant
         cardRepository.findById(cardId)
                 .filter(c -> c.getTenantId().equals(tenantId))
@@ -316,6 +730,44 @@ public class LoyaltyCardService {
                 .map(this::toTransactionDTO);
     }
 
+    /**
+     * Keyset page of a card's history, newest first. Pass the previous page's
+     * {@code nextCursor} to continue; no COUNT query is issued. {@code size} must be
+     * between 1 and {@value #MAX_SEEK_PAGE_SIZE}.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<PointTransactionDTO> getTransactionsBefore(Long tenantId, Long cardId,
+                                                                          String cursor, int size) {
+        if (size < 1 || size > MAX_SEEK_PAGE_SIZE) {
+            throw new CardServiceException("Page size must be between 1 and " + MAX_SEEK_PAGE_SIZE);
+        }
+
+        // Verify card belongs to tenant
+        cardRepository.findById(cardId)
+                .filter(c -> c.getTenantId().equals(tenantId))
+                .orElseThrow(() -> new ResourceNotFoundException("Card not found"));
+
+        // One extra row tells whether another page follows
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<PointTransaction> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionRepository.findByCardIdOrderByCreatedAtDescIdDesc(cardId, limit);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            rows = transactionRepository.findByCardIdBefore(cardId, position.createdAt(), position.id(), limit);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            PointTransaction last = rows.get(size - 1);
+            nextCursor = new TransactionCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return CursorPageResponse.of(rows.stream().map(this::toTransactionDTO).collect(Collectors.toList()),
+                size, nextCursor);
+    }
+
     @Transactional
     public LoyaltyCardDTO deactivateCard(Long tenantId, Long cardId) {
         LoyaltyCard card = cardRepository.findById(cardId)
@@ -329,24 +781,187 @@ public class LoyaltyCardService {
         return toCardDTO(card);
     }
 
-    private String generateCardNumber(Long tenantId) {
-        // Format: RXB-TENANT-RANDOM (e.g., RXB-001-ABC123)
-        String tenantPart = String.format("%03d", tenantId % 1000);
-        String randomPart = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
-        String cardNumber = "RXB-" + tenantPart + "-" + randomPart;
+    private CardConfigSnapshot getEnabledConfig(Long tenantId) {
+        CardConfigSnapshot config = configService.getSnapshot(tenantId);
+
+        if (!config.isConfigured()) {
+            throw new CardServiceException("Card system not configured");
+        }
+        if (!config.isEnabled()) {
+            throw new CardServiceException("Card system is not enabled");
+        }
+        return config;
+    }
+
+    /**
+     * Locks the marker of each bill, creating it where missing, and returns the bills already
+     * cancelled. Earning and cancelling both start here, so they serialise on a real row under
+     * any isolation level; bills are locked in ascending id order, before any card, so the
+     * two paths cannot deadlock each other.
+     */
+    private Set<Long> lockBills(Long tenantId, Collection<Long> billIds) {
+        List<Long> sorted = billIds.stream().sorted().toList();
+        Set<Long> cancelled = new HashSet<>();
+        for (int from = 0; from < sorted.size(); from += CARD_LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = sorted.subList(from, Math.min(from + CARD_LOOKUP_CHUNK_SIZE, sorted.size()));
+            billMarkerBatchRepository.insertMissing(tenantId, chunk);
+            billMarkerRepository.lockAll(tenantId, chunk).stream()
+                    .filter(BillMarker::isCancelled)
+                    .forEach(marker -> cancelled.add(marker.getBillId()));
+        }
+        return cancelled;
+    }
+
+    /**
+     * Credits are applied in ascending card id order (callers pass a {@link TreeMap}),
+     * so transactions touching overlapping cards always lock rows in the same order
+     * and cannot deadlock each other. Credits carrying purchase spend also advance the
+     * card's spend in {@code tierPeriod}.
+     */
+    private void applyCredits(Map<Long, CardCredit> credits, Integer tierPeriod) {
+        LocalDateTime now = LocalDateTime.now();
+        credits.forEach((cardId, credit) -> {
+            if (tierPeriod != null && credit.spend.signum() > 0) {
+                cardRepository.creditPurchase(cardId, credit.earned, credit.referral, credit.spend, tierPeriod, now);
+            } else {
+                cardRepository.creditPoints(cardId, credit.earned, credit.referral, now);
+            }
+        });
+    }
+
+    /**
+     * Moves each card credited with spend to the tier its spend now qualifies for. The tier is
+     * decided on the spend read back after {@link #applyCredits}, not on the card as loaded, so
+     * concurrent purchases that cross a threshold together still promote the card.
+     *
+     * @return the tier of each card credited with spend
+     */
+    private Map<Long, LoyaltyCard.Tier> updateTiers(Map<Long, CardCredit> credits, TierRules tiers) {
+        List<Long> cardIds = credits.entrySet().stream()
+                .filter(credit -> credit.getValue().spend.signum() > 0)
+                .map(Map.Entry::getKey)
+                .toList();
+        Map<Long, LoyaltyCard.Tier> cardTiers = new HashMap<>(cardIds.size() * 2);
+        for (int from = 0; from < cardIds.size(); from += CARD_LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = cardIds.subList(from, Math.min(from + CARD_LOOKUP_CHUNK_SIZE, cardIds.size()));
+            for (LoyaltyCardRepository.CardTierSpend stored : cardRepository.findTierSpends(chunk)) {
+                LoyaltyCard.Tier tier = tiers.tierFor(stored.getQualifyingSpend());
+                if (tier != stored.getTier()) {
+                    cardRepository.updateTier(stored.getCardId(), tier);
+                    log.info("Card {} moved from {} to {}", stored.getCardId(), stored.getTier(), tier);
+                }
+                cardTiers.put(stored.getCardId(), tier);
+            }
+        }
+        return cardTiers;
+    }
+
+    private long itemPoints(CardConfigSnapshot config, EarnPointsRequest.BillItem item,
+                            long tierMultiplier, PromotionEvaluator.Rates promotions) {
+        return config.linePoints(item.getAmount(), item.getCategoryId(), tierMultiplier, promotions);
+    }
+
+    private BigDecimal referralPoints(CardConfigSnapshot config, BigDecimal billAmount) {
+        return PointsMath.toDecimal(PointsMath.percentOf(billAmount,
+                PointsMath.toHundredths(config.getReferralPointsPercent())));
+    }
+
+    private BigDecimal maxRedemptionAmount(CardConfigSnapshot config, BigDecimal billAmount) {
+        return PointsMath.toDecimal(PointsMath.percentOf(billAmount,
+                PointsMath.toHundredths(config.getMaxRedemptionPercent())));
+    }
+
+    /**
+     * Running balance per transaction, derived from each card's balance after its credit
+     * (the row is still locked, so nothing else has changed it in between).
+     */
+    private void fillBalancesAfter(List<PointTransaction> transactions, Map<Long, CardCredit> credits) {
+        List<Long> cardIds = new ArrayList<>(credits.keySet());
+        Map<Long, BigDecimal> running = new HashMap<>(cardIds.size() * 2);
+        for (int from = 0; from < cardIds.size(); from += CARD_LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = cardIds.subList(from, Math.min(from + CARD_LOOKUP_CHUNK_SIZE, cardIds.size()));
+            cardRepository.findPointsBalances(chunk).forEach(balance -> running.put(balance.getCardId(),
+                    balance.getPointsBalance().subtract(credits.get(balance.getCardId()).total())));
+        }
+
+        for (PointTransaction tx : transactions) {
+            BigDecimal balance = running.merge(tx.getCard().getId(), tx.getPoints(), BigDecimal::add);
+            tx.setBalanceAfter(balance);
+        }
+    }
 
-        // Ensure uniqueness
-        int attempt = 0;
-        while (cardRepository.existsByTenantIdAndCardNumber(tenantId, cardNumber) && attempt < 10) {
-            randomPart = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
-            cardNumber = "RXB-" + tenantPart + "-" + randomPart;
-            attempt++;
+    private Map<String, LoyaltyCard> findCardsByNumber(Long tenantId, List<EarnPointsRequest> bills) {
+        List<String> cardNumbers = bills.stream()
+                .map(EarnPointsRequest::getCardNumber)
+                .distinct()
+                .collect(Collectors.toList());
+
+        Map<String, LoyaltyCard> cards = new HashMap<>(cardNumbers.size() * 2);
+        for (int from = 0; from < cardNumbers.size(); from += CARD_LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = cardNumbers.subList(from, Math.min(from + CARD_LOOKUP_CHUNK_SIZE, cardNumbers.size()));
+            cardRepository.findByTenantIdAndCardNumberIn(tenantId, chunk)
+                    .forEach(card -> cards.put(card.getCardNumber(), card));
         }
+        return cards;
+    }
+
+    private Optional<EarnPointsResponse> findOriginalEarn(Long tenantId, Long billId) {
+        return transactionRepository.findByReference(tenantId, "BILL", billId, PointTransaction.TransactionType.EARNED)
+                .map(earned -> {
+                    Optional<PointTransaction> referral = transactionRepository.findByReference(
+                            tenantId, "REFERRAL", billId, PointTransaction.TransactionType.REFERRAL_EARNED);
+
+                    return EarnPointsResponse.builder()
+                            .pointsEarned(earned.getPoints())
+                            .newBalance(earned.getBalanceAfter())
+                            .referrerPointsEarned(referral.map(PointTransaction::getPoints).orElse(BigDecimal.ZERO))
+                            .referrerCardNumber(referral.map(tx -> tx.getCard().getCardNumber()).orElse(null))
+                            .build();
+                });
+    }
+
+    /**
+     * The amount is not stored with the transaction, so it is recomputed at the current rate.
+     */
+    private Optional<RedeemPointsResponse> findOriginalRedemption(Long tenantId, Long billId) {
+        return transactionRepository.findByReference(tenantId, "BILL", billId, PointTransaction.TransactionType.REDEEMED)
+                .map(redeemed -> {
+                    BigDecimal points = redeemed.getPoints().negate();
+                    return RedeemPointsResponse.builder()
+                            .pointsRedeemed(points)
+                            .amountDeducted(points.multiply(configService.getSnapshot(tenantId).getPointsToAmountRate()))
+                            .newBalance(redeemed.getBalanceAfter())
+                            .build();
+                });
+    }
+
+    private BulkEarnPointsResponse.FailedBill failedBill(EarnPointsRequest bill, String reason) {
+        return BulkEarnPointsResponse.FailedBill.builder()
+                .billId(bill.getBillId())
+                .cardNumber(bill.getCardNumber())
+                .reason(reason)
+                .build();
+    }
 
-        return cardNumber;
+    /**
+     * Referral counts for a page of cards in a single grouped query,
+     * so listings never load the referred cards themselves.
+     */
+    private Map<Long, Long> countReferrals(Long tenantId, List<LoyaltyCard> cards) {
+        if (cards.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Long> cardIds = cards.stream().map(LoyaltyCard::getId).collect(Collectors.toList());
+        return cardRepository.countReferrals(tenantId, cardIds).stream()
+                .collect(Collectors.toMap(LoyaltyCardRepository.ReferralCount::getReferrerCardId,
+                        LoyaltyCardRepository.ReferralCount::getReferralCount));
     }
 
     private LoyaltyCardDTO toCardDTO(LoyaltyCard card) {
+        return toCardDTO(card, cardRepository.countByTenantIdAndReferrerCardId(card.getTenantId(), card.getId()));
+    }
+
+    private LoyaltyCardDTO toCardDTO(LoyaltyCard card, long referralCount) {
         LoyaltyCardDTO.LoyaltyCardDTOBuilder builder = LoyaltyCardDTO.builder()
                 .id(card.getId())
                 .cardNumber(card.getCardNumber())
@@ -358,6 +973,7 @@ public class LoyaltyCardService {
                 .totalPointsEarned(card.getTotalPointsEarned())
                 .totalPointsRedeemed(card.getTotalPointsRedeemed())
                 .totalReferralPointsEarned(card.getTotalReferralPointsEarned())
+                .tier(card.getTier() != null ? card.getTier().name() : null)
                 .isActive(card.getIsActive())
                 .issuedAt(card.getIssuedAt())
                 .lastTransactionAt(card.getLastTransactionAt());
@@ -368,9 +984,7 @@ public class LoyaltyCardService {
                    .referrerName(card.getReferrerCard().getCustomerName());
         }
 
-        // Get referral count
-        List<LoyaltyCard> referrals = cardRepository.findReferrals(card.getTenantId(), card.getId());
-        builder.referralCount(referrals.size());
+        builder.referralCount((int) referralCount);
 
         return builder.build();
     }
@@ -390,4 +1004,48 @@ public class LoyaltyCardService {
                 .createdAt(tx.getCreatedAt())
                 .build();
     }
+
+    /**
+     * Opaque position in a card's history: base64url of "createdAt|id".
+     */
+    private record TransactionCursor(LocalDateTime createdAt, Long id) {
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static TransactionCursor decode(String cursor) {
+            try {
+                String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = value.indexOf('|');
+                return new TransactionCursor(LocalDateTime.parse(value.substring(0, separator)),
+                        Long.parseLong(value.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new CardServiceException("Invalid cursor");
+            }
+        }
+    }
+
+    private static final class CardCredit {
+        private BigDecimal earned = BigDecimal.ZERO;
+        private BigDecimal referral = BigDecimal.ZERO;
+        private BigDecimal spend = BigDecimal.ZERO;
+
+        void addEarned(BigDecimal points) {
+            earned = earned.add(points);
+        }
+
+        void addReferral(BigDecimal points) {
+            referral = referral.add(points);
+        }
+
+        void addSpend(BigDecimal amount) {
+            spend = spend.add(amount);
+        }
+
+        BigDecimal total() {
+            return earned.add(referral);
+        }
+    }
 }
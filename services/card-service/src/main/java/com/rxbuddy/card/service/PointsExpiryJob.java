@@ -0,0 +1,27 @@
+package com.rxbuddy.card.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Nightly trigger for {@link PointsExpiryService}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.card.expiry", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class PointsExpiryJob {
+
+    private final PointsExpiryService expiryService;
+
+    @Scheduled(cron = "${app.card.expiry.cron:0 30 2 * * *}")
+    public void run() {
+        log.info("Starting points expiry sweep");
+        expiryService.expireAll(LocalDate.now());
+    }
+}
@@ -0,0 +1,210 @@
+package com.rxbuddy.card.service;
+
+import com.rxbuddy.card.entity.CardConfiguration;
+import com.rxbuddy.card.entity.PointTransaction;
+import com.rxbuddy.card.entity.PointsExpiryCheckpoint;
+import com.rxbuddy.card.repository.CardConfigurationRepository;
+import com.rxbuddy.card.repository.LoyaltyCardRepository;
+import com.rxbuddy.card.repository.PointTransactionBatchRepository;
+import com.rxbuddy.card.repository.PointTransactionRepository;
+import com.rxbuddy.card.repository.PointsExpiryCheckpointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Expires earned points FIFO. For each card, points credited before the cutoff that later
+ * redemptions and expiries have not used up (reversals cancel the credit they undo) are
+ * expired with an EXPIRED transaction and a balance decrement.
+ * <p>
+ * Tenants are swept in parallel on a bounded pool. Within a tenant, cards are read in
+ * keyset chunks and each chunk commits in its own short transaction together with the
+ * tenant's checkpoint, so a run can stop at any point and resume from the last chunk,
+ * and no transaction holds more than a chunk of card rows.
+ */
+@Slf4j
+@Service
+public class PointsExpiryService {
+
+    private static final String EXPIRY_REFERENCE = "EXPIRY";
+    private static final Set<PointTransaction.TransactionType> FIFO_DEBIT_TYPES = EnumSet.of(
+            PointTransaction.TransactionType.REDEEMED, PointTransaction.TransactionType.EXPIRED);
+
+    private final CardConfigurationRepository configRepository;
+    private final LoyaltyCardRepository cardRepository;
+    private final PointTransactionRepository transactionRepository;
+    private final PointTransactionBatchRepository transactionBatchRepository;
+    private final PointsExpiryCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int parallelism;
+
+    public PointsExpiryService(CardConfigurationRepository configRepository,
+                               LoyaltyCardRepository cardRepository,
+                               PointTransactionRepository transactionRepository,
+                               PointTransactionBatchRepository transactionBatchRepository,
+                               PointsExpiryCheckpointRepository checkpointRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.card.expiry.chunk-size:500}") int chunkSize,
+                               @Value("${app.card.expiry.parallelism:4}") int parallelism) {
+        this.configRepository = configRepository;
+        this.cardRepository = cardRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionBatchRepository = transactionBatchRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Sweeps every tenant with expiry configured. Tenants already completed for
+     * {@code runDate} are skipped, so re-running the same day only finishes what is left.
+     */
+    public void expireAll(LocalDate runDate) {
+        List<CardConfiguration> configs = configRepository.findByIsEnabledTrueAndPointsExpiryMonthsNotNull();
+        if (configs.isEmpty()) {
+            return;
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, configs.size()), task -> {
+            Thread thread = new Thread(task, "points-expiry-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = configs.stream()
+                    .map(config -> pool.submit(() -> expireTenant(config.getTenantId(),
+                            config.getPointsExpiryMonths(), runDate)))
+                    .collect(Collectors.toList());
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Points expiry interrupted; it will resume from the checkpoints");
+        } catch (Exception e) {
+            log.error("Points expiry failed", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    void expireTenant(Long tenantId, int expiryMonths, LocalDate runDate) {
+        LocalDateTime cutoff = runDate.atStartOfDay().minusMonths(expiryMonths);
+        try {
+            boolean done;
+            do {
+                done = Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                        expireChunk(tenantId, runDate, cutoff)));
+            } while (!done);
+        } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+            log.info("Points expiry for tenant {} is running on another instance", tenantId);
+        } catch (RuntimeException e) {
+            log.error("Points expiry for tenant {} stopped; it will resume from the checkpoint", tenantId, e);
+        }
+    }
+
+    /**
+     * Expires one chunk of cards and advances the checkpoint. Returns true once the
+     * tenant is done for {@code runDate}.
+     */
+    private boolean expireChunk(Long tenantId, LocalDate runDate, LocalDateTime cutoff) {
+        PointsExpiryCheckpoint checkpoint = checkpointRepository.findById(tenantId)
+                .orElseGet(() -> PointsExpiryCheckpoint.builder().tenantId(tenantId).runDate(runDate).build());
+        if (!runDate.equals(checkpoint.getRunDate())) {
+            checkpoint.startRun(runDate);
+        } else if (Boolean.TRUE.equals(checkpoint.getCompleted())) {
+            return true;
+        }
+
+        List<LoyaltyCardRepository.CardBalance> cards = cardRepository.findBalancesAfter(
+                tenantId, checkpoint.getLastCardId(), PageRequest.of(0, chunkSize));
+
+        Map<Long, BigDecimal> expiries = findExpiries(cards, cutoff);
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BigDecimal> expired = new TreeMap<>();
+        expiries.forEach((cardId, points) -> {
+            if (cardRepository.expirePoints(cardId, points, now) == 1) {
+                expired.put(cardId, points);
+            }
+        });
+
+        if (!expired.isEmpty()) {
+            Map<Long, BigDecimal> balances = cardRepository.findPointsBalances(expired.keySet()).stream()
+                    .collect(Collectors.toMap(LoyaltyCardRepository.CardBalance::getCardId,
+                            LoyaltyCardRepository.CardBalance::getPointsBalance));
+            String description = "Points earned before " + cutoff.format(DateTimeFormatter.ISO_LOCAL_DATE) + " expired";
+
+            transactionBatchRepository.batchInsert(expired.entrySet().stream()
+                    .map(entry -> PointTransaction.builder()
+                            .tenantId(tenantId)
+                            .card(cardRepository.getReferenceById(entry.getKey()))
+                            .transactionType(PointTransaction.TransactionType.EXPIRED)
+                            .points(entry.getValue().negate())
+                            .balanceAfter(balances.get(entry.getKey()))
+                            .referenceType(EXPIRY_REFERENCE)
+                            .description(description)
+                            .createdAt(now)
+                            .build())
+                    .collect(Collectors.toList()));
+        }
+
+        boolean done = cards.size() < chunkSize;
+        if (!cards.isEmpty()) {
+            checkpoint.setLastCardId(cards.get(cards.size() - 1).getCardId());
+        }
+        checkpoint.setCompleted(done);
+        checkpoint.setCardsExpired(checkpoint.getCardsExpired() + expired.size());
+        checkpoint.setPointsExpired(checkpoint.getPointsExpired()
+                .add(expired.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add)));
+        checkpointRepository.save(checkpoint);
+
+        if (done) {
+            log.info("Expired {} points on {} cards for tenant {} (earned before {})",
+                    checkpoint.getPointsExpired(), checkpoint.getCardsExpired(), tenantId, cutoff.toLocalDate());
+        }
+        return done;
+    }
+
+    /**
+     * Points to expire per card: credits older than the cutoff, less their reversals, that
+     * redemptions and earlier expiries have not consumed, capped at the current balance.
+     */
+    private Map<Long, BigDecimal> findExpiries(List<LoyaltyCardRepository.CardBalance> cards, LocalDateTime cutoff) {
+        if (cards.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, BigDecimal> balances = cards.stream()
+                .collect(Collectors.toMap(LoyaltyCardRepository.CardBalance::getCardId,
+                        LoyaltyCardRepository.CardBalance::getPointsBalance));
+        Map<Long, BigDecimal> expiries = new TreeMap<>();
+        for (PointTransactionRepository.PointsFlow flow : transactionRepository.sumPointsFlow(
+                balances.keySet(), cutoff, FIFO_DEBIT_TYPES)) {
+            BigDecimal unconsumed = flow.getCreditsBefore().subtract(flow.getDebits());
+            BigDecimal points = unconsumed.min(balances.get(flow.getCardId()));
+            if (points.signum() > 0) {
+                expiries.put(flow.getCardId(), points);
+            }
+        }
+        return expiries;
+    }
+}
@@ -0,0 +1,123 @@
+package com.rxbuddy.card.service;
+
+import com.rxbuddy.card.cache.CardConfigChangedEvent;
+import com.rxbuddy.card.dto.PromotionDTO;
+import com.rxbuddy.card.entity.Promotion;
+import com.rxbuddy.card.exception.CardServiceException;
+import com.rxbuddy.card.exception.ResourceNotFoundException;
+import com.rxbuddy.card.repository.PromotionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Bonus-point promotions. Every write invalidates the tenant's configuration snapshot,
+ * which carries the compiled promotions used when earning points.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PromotionService {
+
+    private static final BigDecimal MAX_MULTIPLIER = new BigDecimal("10");
+    private static final BigDecimal MAX_BONUS_PERCENT = new BigDecimal("100");
+
+    private final PromotionRepository promotionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public List<PromotionDTO> getPromotions(Long tenantId) {
+        return promotionRepository.findByTenantIdOrderByStartsAtDesc(tenantId)
+                .stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public PromotionDTO createPromotion(Long tenantId, PromotionDTO dto) {
+        Promotion promotion = Promotion.builder().tenantId(tenantId).build();
+        apply(promotion, dto);
+
+        promotion = promotionRepository.save(promotion);
+        eventPublisher.publishEvent(new CardConfigChangedEvent(tenantId));
+        log.info("Created promotion {} for tenant {}", promotion.getId(), tenantId);
+
+        return toDTO(promotion);
+    }
+
+    @Transactional
+    public PromotionDTO updatePromotion(Long tenantId, Long id, PromotionDTO dto) {
+        Promotion promotion = findPromotion(tenantId, id);
+        apply(promotion, dto);
+
+        promotion = promotionRepository.save(promotion);
+        eventPublisher.publishEvent(new CardConfigChangedEvent(tenantId));
+        log.info("Updated promotion {} for tenant {}", id, tenantId);
+
+        return toDTO(promotion);
+    }
+
+    @Transactional
+    public void deletePromotion(Long tenantId, Long id) {
+        promotionRepository.delete(findPromotion(tenantId, id));
+        eventPublisher.publishEvent(new CardConfigChangedEvent(tenantId));
+        log.info("Deleted promotion {} for tenant {}", id, tenantId);
+    }
+
+    private Promotion findPromotion(Long tenantId, Long id) {
+        return promotionRepository.findByIdAndTenantId(id, tenantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Promotion not found: " + id));
+    }
+
+    private void apply(Promotion promotion, PromotionDTO dto) {
+        Promotion.PromotionType type;
+        try {
+            type = Promotion.PromotionType.valueOf(dto.getPromotionType());
+        } catch (IllegalArgumentException e) {
+            throw new CardServiceException("Unknown promotion type: " + dto.getPromotionType());
+        }
+
+        if (type == Promotion.PromotionType.MULTIPLIER
+                && (dto.getPromotionValue().compareTo(BigDecimal.ONE) <= 0
+                    || dto.getPromotionValue().compareTo(MAX_MULTIPLIER) > 0)) {
+            throw new CardServiceException("Points multiplier must be above 1 and at most " + MAX_MULTIPLIER);
+        }
+        if (type == Promotion.PromotionType.BONUS_PERCENT && dto.getPromotionValue().compareTo(MAX_BONUS_PERCENT) > 0) {
+            throw new CardServiceException("Bonus percent cannot exceed " + MAX_BONUS_PERCENT);
+        }
+        if (dto.getEndsAt() != null && !dto.getEndsAt().isAfter(dto.getStartsAt())) {
+            throw new CardServiceException("Promotion must end after it starts");
+        }
+
+        promotion.setName(dto.getName());
+        promotion.setPromotionType(type);
+        promotion.setPromotionValue(dto.getPromotionValue());
+        promotion.setCategoryId(dto.getCategoryId());
+        promotion.setCategoryName(dto.getCategoryName());
+        promotion.setDaysOfWeek(Promotion.toDayMask(dto.getDaysOfWeek()));
+        promotion.setStartsAt(dto.getStartsAt());
+        promotion.setEndsAt(dto.getEndsAt());
+        promotion.setIsActive(dto.getIsActive() != null ? dto.getIsActive() : true);
+    }
+
+    private PromotionDTO toDTO(Promotion promotion) {
+        return PromotionDTO.builder()
+                .id(promotion.getId())
+                .name(promotion.getName())
+                .promotionType(promotion.getPromotionType().name())
+                .promotionValue(promotion.getPromotionValue())
+                .categoryId(promotion.getCategoryId())
+                .categoryName(promotion.getCategoryName())
+                .daysOfWeek(promotion.getDaysOfWeek() != null ? Promotion.fromDayMask(promotion.getDaysOfWeek()) : null)
+                .startsAt(promotion.getStartsAt())
+                .endsAt(promotion.getEndsAt())
+                .isActive(promotion.getIsActive())
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.rxbuddy.card.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rxbuddy.card.dto.TransactionExportRow;
+import com.rxbuddy.card.exception.CardServiceException;
+import com.rxbuddy.card.repository.PointTransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Streams a tenant's point transactions straight from a JDBC cursor to the client,
+ * one row at a time, so a year of history never sits in memory.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionExportService {
+
+    private static final String CSV_HEADER =
+            "id,created_at,card_number,transaction_type,points,balance_after,reference_type,reference_id,bill_amount,description";
+
+    private final PointTransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format from(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new CardServiceException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    public void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new CardServiceException("'from' must not be after 'to'");
+        }
+    }
+
+    /**
+     * Writes transactions created between {@code from} and {@code to} (both inclusive).
+     */
+    @Transactional(readOnly = true)
+    public long export(Long tenantId, LocalDate from, LocalDate to, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long rows = 0;
+
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try (Stream<TransactionExportRow> stream = transactionRepository.streamForExport(
+                tenantId, from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            Iterator<TransactionExportRow> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                TransactionExportRow row = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsv(writer, row);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                }
+                writer.write('\n');
+                rows++;
+            }
+        }
+
+        writer.flush();
+        log.info("Exported {} point transactions for tenant {} ({} to {}, {})", rows, tenantId, from, to, format);
+        return rows;
+    }
+
+    private void writeCsv(Writer writer, TransactionExportRow row) throws IOException {
+        writer.write(String.valueOf(row.id()));
+        writer.write(',');
+        writer.write(String.valueOf(row.createdAt()));
+        writer.write(',');
+        writer.write(csv(row.cardNumber()));
+        writer.write(',');
+        writer.write(row.transactionType().name());
+        writer.write(',');
+        writer.write(csv(row.points()));
+        writer.write(',');
+        writer.write(csv(row.balanceAfter()));
+        writer.write(',');
+        writer.write(csv(row.referenceType()));
+        writer.write(',');
+        writer.write(csv(row.referenceId()));
+        writer.write(',');
+        writer.write(csv(row.billAmount()));
+        writer.write(',');
+        writer.write(csv(row.description()));
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
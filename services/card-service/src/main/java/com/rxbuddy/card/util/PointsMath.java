@@ -0,0 +1,122 @@
+package com.rxbuddy.card.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Points arithmetic on scaled longs. Amounts and points are held in hundredths (paise for
+ * rupees) and percentages and multipliers in hundredths too (basis points for percentages),
+ * matching the two-decimal columns they come from. Results are rounded HALF_UP to two
+ * decimals, exactly as the equivalent {@code BigDecimal} expression would be; values are
+ * converted to and from {@code BigDecimal} only at the DTO and entity boundary.
+ */
+public final class PointsMath {
+
+    /** Hundredths in one unit. */
+    public static final long ONE = 100;
+
+    private static final long PERCENT_DIVISOR = ONE * 100;              // amount (x100) * percent (x100) / 100
+    private static final long POINTS_DIVISOR = ONE * ONE * ONE * 100;   // amount * percent * tier * promotion / 100
+
+    private static final BigDecimal ONE_HUNDRED = new BigDecimal("100");
+
+    private PointsMath() {
+    }
+
+    /**
+     * @throws ArithmeticException if {@code value} has more than two decimals or does not fit a long
+     */
+    public static long toHundredths(BigDecimal value) {
+        return value.movePointRight(2).longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long hundredths) {
+        return BigDecimal.valueOf(hundredths, 2);
+    }
+
+    /**
+     * {@code amount * percent / 100}, rounded HALF_UP to hundredths.
+     */
+    public static long percentOf(long amount, long percent) {
+        try {
+            return exactPercentOf(amount, percent);
+        } catch (ArithmeticException e) {
+            return decimalPercentOf(toDecimal(amount), percent);
+        }
+    }
+
+    /**
+     * {@link #percentOf(long, long)} for an amount that may not be whole paise.
+     */
+    public static long percentOf(BigDecimal amount, long percent) {
+        try {
+            return exactPercentOf(toHundredths(amount), percent);
+        } catch (ArithmeticException e) {
+            return decimalPercentOf(amount, percent);
+        }
+    }
+
+    /**
+     * Points for a line: {@code amount * (percent * tierMultiplier * promotionMultiplier + bonusPercent) / 100},
+     * rounded HALF_UP to hundredths.
+     */
+    public static long points(long amount, long percent, long tierMultiplier, long promotionMultiplier,
+                              long bonusPercent) {
+        try {
+            return exactPoints(amount, percent, tierMultiplier, promotionMultiplier, bonusPercent);
+        } catch (ArithmeticException e) {
+            return decimalPoints(toDecimal(amount), percent, tierMultiplier, promotionMultiplier, bonusPercent);
+        }
+    }
+
+    /**
+     * {@link #points(long, long, long, long, long)} for an amount that may not be whole paise.
+     */
+    public static long points(BigDecimal amount, long percent, long tierMultiplier, long promotionMultiplier,
+                              long bonusPercent) {
+        try {
+            return exactPoints(toHundredths(amount), percent, tierMultiplier, promotionMultiplier, bonusPercent);
+        } catch (ArithmeticException e) {
+            return decimalPoints(amount, percent, tierMultiplier, promotionMultiplier, bonusPercent);
+        }
+    }
+
+    private static long exactPercentOf(long amount, long percent) {
+        return divideHalfUp(Math.multiplyExact(amount, percent), PERCENT_DIVISOR);
+    }
+
+    private static long exactPoints(long amount, long percent, long tierMultiplier, long promotionMultiplier,
+                                    long bonusPercent) {
+        long rate = Math.addExact(
+                Math.multiplyExact(Math.multiplyExact(percent, tierMultiplier), promotionMultiplier),
+                Math.multiplyExact(bonusPercent, ONE * ONE));
+        return divideHalfUp(Math.multiplyExact(amount, rate), POINTS_DIVISOR);
+    }
+
+    // Sub-paise amounts and products beyond a long take the same expression in BigDecimal
+
+    private static long decimalPercentOf(BigDecimal amount, long percent) {
+        return toHundredths(amount.multiply(toDecimal(percent)).divide(ONE_HUNDRED, 2, RoundingMode.HALF_UP));
+    }
+
+    private static long decimalPoints(BigDecimal amount, long percent, long tierMultiplier, long promotionMultiplier,
+                                      long bonusPercent) {
+        BigDecimal rate = toDecimal(percent)
+                .multiply(toDecimal(tierMultiplier))
+                .multiply(toDecimal(promotionMultiplier))
+                .add(toDecimal(bonusPercent));
+        return toHundredths(amount.multiply(rate).divide(ONE_HUNDRED, 2, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * Integer division rounding half away from zero, as {@link RoundingMode#HALF_UP} does.
+     */
+    static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) >= divisor - Math.abs(remainder)) {
+            quotient += Long.signum(dividend);
+        }
+        return quotient;
+    }
+}
@@ -0,0 +1,12 @@
+-- Cancellation markers become markers for every credited or cancelled bill. Earning and
+-- cancelling both lock the bill's row, instead of a locking read of an absent cancellation
+-- marker: that relied on InnoDB gap locks, which READ COMMITTED does not take and which
+-- REPEATABLE READ takes in an order that can deadlock.
+RENAME TABLE cancelled_bills TO bill_markers;
+
+-- Existing rows are all cancellations
+ALTER TABLE bill_markers
+    ADD COLUMN cancelled BOOLEAN NOT NULL DEFAULT TRUE AFTER bill_id,
+    MODIFY cancelled_at TIMESTAMP NULL;
+
+ALTER TABLE bill_markers ALTER COLUMN cancelled SET DEFAULT FALSE;
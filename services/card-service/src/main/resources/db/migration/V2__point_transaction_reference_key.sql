@@ -0,0 +1,41 @@
+-- A bill can be credited, redeemed or referral-credited at most once per tenant.
+-- Rows without a reference (manual adjustments) have a NULL reference_id and are not constrained.
+
+-- Billing retries before this key existed may have applied a bill more than once, and the key
+-- cannot be added over such rows. The first row of each duplicate group is kept; the others are
+-- moved to point_transaction_duplicates for review and taken back out of the card totals.
+CREATE TABLE point_transaction_duplicates LIKE point_transactions;
+
+INSERT INTO point_transaction_duplicates
+SELECT t.*
+FROM point_transactions t
+JOIN (SELECT tenant_id, reference_type, reference_id, transaction_type, MIN(id) AS kept_id
+      FROM point_transactions
+      WHERE reference_type IS NOT NULL AND reference_id IS NOT NULL
+      GROUP BY tenant_id, reference_type, reference_id, transaction_type
+      HAVING COUNT(*) > 1) d
+  ON t.tenant_id = d.tenant_id
+ AND t.reference_type = d.reference_type
+ AND t.reference_id = d.reference_id
+ AND t.transaction_type = d.transaction_type
+ AND t.id <> d.kept_id;
+
+UPDATE loyalty_cards c
+JOIN (SELECT card_id,
+             SUM(points) AS points,
+             SUM(CASE WHEN transaction_type = 'EARNED' THEN points ELSE 0 END) AS earned,
+             SUM(CASE WHEN transaction_type = 'REDEEMED' THEN -points ELSE 0 END) AS redeemed,
+             SUM(CASE WHEN transaction_type = 'REFERRAL_EARNED' THEN points ELSE 0 END) AS referral
+      FROM point_transaction_duplicates
+      GROUP BY card_id) d ON d.card_id = c.id
+SET c.points_balance = c.points_balance - d.points,
+    c.total_points_earned = c.total_points_earned - d.earned,
+    c.total_points_redeemed = c.total_points_redeemed - d.redeemed,
+    c.total_referral_points_earned = c.total_referral_points_earned - d.referral;
+
+DELETE t
+FROM point_transactions t
+JOIN point_transaction_duplicates d ON d.id = t.id;
+
+ALTER TABLE point_transactions
+    ADD UNIQUE KEY uk_transaction_reference (tenant_id, reference_type, reference_id, transaction_type);
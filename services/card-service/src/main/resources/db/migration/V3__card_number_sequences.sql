@@ -0,0 +1,6 @@
+-- Per-tenant card serial high-water mark; services reserve blocks of serials from it
+CREATE TABLE card_number_sequences (
+    tenant_id BIGINT PRIMARY KEY,
+    next_value BIGINT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,8 @@
+-- Phone numbers reversed so "ends with" searches become index-friendly prefix searches
+ALTER TABLE loyalty_cards
+    ADD COLUMN customer_phone_reversed VARCHAR(15) NULL AFTER customer_phone;
+
+UPDATE loyalty_cards SET customer_phone_reversed = REVERSE(customer_phone);
+
+CREATE INDEX idx_loyalty_card_phone_reversed ON loyalty_cards (tenant_id, customer_phone_reversed);
+CREATE INDEX idx_loyalty_card_tenant_phone ON loyalty_cards (tenant_id, customer_phone);
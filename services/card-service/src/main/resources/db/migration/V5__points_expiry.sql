@@ -0,0 +1,16 @@
+-- Points expiry: per-tenant setting and nightly sweep checkpoints
+
+-- NULL keeps points forever
+ALTER TABLE card_configurations ADD COLUMN points_expiry_months INT NULL;
+
+-- Last card swept per tenant, so an interrupted run resumes where it stopped
+CREATE TABLE points_expiry_checkpoints (
+    tenant_id BIGINT PRIMARY KEY,
+    run_date DATE NOT NULL,
+    last_card_id BIGINT NOT NULL DEFAULT 0,
+    completed BOOLEAN NOT NULL DEFAULT false,
+    cards_expired INT NOT NULL DEFAULT 0,
+    points_expired DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
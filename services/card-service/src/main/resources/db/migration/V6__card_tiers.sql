@@ -0,0 +1,16 @@
+-- Card tiers: per-tenant rules and incrementally maintained spend per card
+
+ALTER TABLE card_configurations
+    ADD COLUMN tiers_enabled BOOLEAN NOT NULL DEFAULT false,
+    ADD COLUMN tier_period_months INT NOT NULL DEFAULT 12,
+    ADD COLUMN silver_spend_threshold DECIMAL(12, 2) NOT NULL DEFAULT 10000.00,
+    ADD COLUMN gold_spend_threshold DECIMAL(12, 2) NOT NULL DEFAULT 50000.00,
+    ADD COLUMN silver_points_multiplier DECIMAL(4, 2) NOT NULL DEFAULT 1.25,
+    ADD COLUMN gold_points_multiplier DECIMAL(4, 2) NOT NULL DEFAULT 1.50;
+
+-- tier_period numbers tier periods since year 0; spend rolls into previous_period_spend when it changes
+ALTER TABLE loyalty_cards
+    ADD COLUMN tier VARCHAR(10) NOT NULL DEFAULT 'BRONZE',
+    ADD COLUMN tier_period INT NULL,
+    ADD COLUMN period_spend DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    ADD COLUMN previous_period_spend DECIMAL(14, 2) NOT NULL DEFAULT 0;
@@ -0,0 +1,22 @@
+-- Bonus-point promotions (double points weekends, category bonuses, campaigns)
+CREATE TABLE promotions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    tenant_id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+
+    promotion_type VARCHAR(20) NOT NULL,      -- 'MULTIPLIER' (x points) or 'BONUS_PERCENT' (+% of amount)
+    promotion_value DECIMAL(6, 2) NOT NULL,
+
+    category_id BIGINT,                       -- NULL applies to every category
+    category_name VARCHAR(255),
+    days_of_week INT,                         -- Bit 0 = Monday ... bit 6 = Sunday; NULL = every day
+    starts_at TIMESTAMP NOT NULL,
+    ends_at TIMESTAMP NULL,
+
+    is_active BOOLEAN DEFAULT true,
+
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NULL ON UPDATE CURRENT_TIMESTAMP,
+
+    INDEX idx_promotion_tenant (tenant_id, is_active, ends_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
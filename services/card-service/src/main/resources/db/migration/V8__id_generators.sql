@@ -0,0 +1,20 @@
+-- Pooled id allocation: Hibernate reserves blocks of 50 ids per table from this row
+-- instead of waiting on AUTO_INCREMENT for every insert, so inserts can be batched.
+-- Each row starts past the block the pooled optimizer will hand out first, above existing ids.
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'card_configurations', COALESCE(MAX(id), 0) + 51 FROM card_configurations
+UNION ALL
+SELECT 'category_point_configs', COALESCE(MAX(id), 0) + 51 FROM category_point_configs
+UNION ALL
+SELECT 'category_discounts', COALESCE(MAX(id), 0) + 51 FROM category_discounts
+UNION ALL
+SELECT 'loyalty_cards', COALESCE(MAX(id), 0) + 51 FROM loyalty_cards
+UNION ALL
+SELECT 'point_transactions', COALESCE(MAX(id), 0) + 51 FROM point_transactions
+UNION ALL
+SELECT 'promotions', COALESCE(MAX(id), 0) + 51 FROM promotions;
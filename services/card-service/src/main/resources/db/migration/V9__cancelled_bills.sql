@@ -0,0 +1,8 @@
+-- Cancellation markers, so a bill cancelled before its (asynchronous) credit never earns
+CREATE TABLE cancelled_bills (
+    tenant_id BIGINT NOT NULL,
+    bill_id BIGINT NOT NULL,
+    reason VARCHAR(255),
+    cancelled_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (tenant_id, bill_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,93 @@
+package com.rxbuddy.card.cache;
+
+import com.rxbuddy.card.entity.Promotion;
+import com.rxbuddy.card.util.PointsMath;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PromotionEvaluatorTest {
+
+    private static final LocalDateTime MONDAY_NOON = LocalDateTime.of(2026, 1, 1, 12, 0)
+            .with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+    private static final Long MEDICINES = 1L;
+    private static final Long COSMETICS = 2L;
+
+    @Test
+    void noPromotionsResolvesToTheNeutralRate() {
+        PromotionEvaluator evaluator = PromotionEvaluator.compile(List.of());
+
+        assertThat(evaluator).isSameAs(PromotionEvaluator.NONE);
+        assertThat(evaluator.at(MONDAY_NOON).rate(MEDICINES)).isEqualTo(new PromotionEvaluator.Rate(PointsMath.ONE, 0));
+    }
+
+    @Test
+    void highestMultiplierWinsAndBonusesAddUp() {
+        PromotionEvaluator.Rates rates = PromotionEvaluator.compile(List.of(
+                promotion(Promotion.PromotionType.MULTIPLIER, "2", null),
+                promotion(Promotion.PromotionType.MULTIPLIER, "3", MEDICINES),
+                promotion(Promotion.PromotionType.MULTIPLIER, "1.5", COSMETICS),
+                promotion(Promotion.PromotionType.BONUS_PERCENT, "1", null),
+                promotion(Promotion.PromotionType.BONUS_PERCENT, "2.5", MEDICINES)
+        )).at(MONDAY_NOON);
+
+        assertThat(rates.rate(MEDICINES)).isEqualTo(new PromotionEvaluator.Rate(300, 350));
+        // A lower category multiplier does not undercut the all-category one
+        assertThat(rates.rate(COSMETICS)).isEqualTo(new PromotionEvaluator.Rate(200, 100));
+        assertThat(rates.rate(99L)).isEqualTo(rates.everyCategory());
+        assertThat(rates.rate(null)).isEqualTo(new PromotionEvaluator.Rate(200, 100));
+        assertThat(rates.categories()).containsOnlyKeys(MEDICINES);
+    }
+
+    @Test
+    void rulesApplyOnlyInsideTheirWindowAndOnTheirDays() {
+        Promotion window = promotion(Promotion.PromotionType.BONUS_PERCENT, "5", MEDICINES);
+        window.setStartsAt(MONDAY_NOON);
+        window.setEndsAt(MONDAY_NOON.plusHours(2));
+        Promotion weekends = promotion(Promotion.PromotionType.MULTIPLIER, "2", null);
+        weekends.setDaysOfWeek(Promotion.toDayMask(Set.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY)));
+        PromotionEvaluator evaluator = PromotionEvaluator.compile(List.of(window, weekends));
+
+        assertThat(evaluator.at(MONDAY_NOON.minusSeconds(1)).rate(MEDICINES).bonusPercent()).isZero();
+        assertThat(evaluator.at(MONDAY_NOON).rate(MEDICINES).bonusPercent()).isEqualTo(500);
+        assertThat(evaluator.at(MONDAY_NOON.plusHours(2)).rate(MEDICINES).bonusPercent()).isZero();
+
+        assertThat(evaluator.at(MONDAY_NOON).everyCategory().multiplier()).isEqualTo(PointsMath.ONE);
+        assertThat(evaluator.at(MONDAY_NOON.plusDays(5)).everyCategory().multiplier()).isEqualTo(200);
+        assertThat(evaluator.at(MONDAY_NOON.plusDays(6)).everyCategory().multiplier()).isEqualTo(200);
+    }
+
+    @Test
+    void promotionsFeedTheLinePoints() {
+        PromotionEvaluator.Rates rates = PromotionEvaluator.compile(List.of(
+                promotion(Promotion.PromotionType.MULTIPLIER, "2", null),
+                promotion(Promotion.PromotionType.BONUS_PERCENT, "1", null)
+        )).at(MONDAY_NOON);
+        CardConfigSnapshot config = CardConfigSnapshot.builder()
+                .pointPercentages(Map.of(MEDICINES, 200L))
+                .discountPercentages(Map.of())
+                .build();
+
+        // 1000.00 at 2% x 2 plus a 1% bonus = 50.00 points
+        assertThat(config.linePoints(new BigDecimal("1000.00"), MEDICINES, PointsMath.ONE, rates)).isEqualTo(5_000);
+    }
+
+    private static Promotion promotion(Promotion.PromotionType type, String value, Long categoryId) {
+        return Promotion.builder()
+                .tenantId(1L)
+                .name(type + " " + value)
+                .promotionType(type)
+                .promotionValue(new BigDecimal(value))
+                .categoryId(categoryId)
+                .startsAt(MONDAY_NOON.minusDays(30))
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.rxbuddy.card.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import com.rxbuddy.card.dto.ReversePointsRequest;
+import com.rxbuddy.card.dto.ReversePointsResponse;
+import com.rxbuddy.card.service.LoyaltyCardService;
+import com.rxbuddy.common.messaging.BillCancelledEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BillCancelledEventListenerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final LoyaltyCardService cardService = mock(LoyaltyCardService.class);
+    private final Channel channel = mock(Channel.class);
+    private final BillCancelledEventListener listener = new BillCancelledEventListener(cardService, objectMapper);
+
+    @BeforeEach
+    void setUp() {
+        when(cardService.reversePoints(anyLong(), any())).thenReturn(ReversePointsResponse.builder().build());
+    }
+
+    @Test
+    void reversesEachTenantInOneCallAndDeadLettersMalformedEvents() throws Exception {
+        listener.onBillsCancelled(List.of(
+                message(1, BillCancelledEvent.of(10L, 100L, "RXB-1", "void", null)),
+                message(2, BillCancelledEvent.of(10L, null, "RXB-1", "void", null)),
+                new Message("[]".getBytes(StandardCharsets.UTF_8), properties(3)),
+                message(4, BillCancelledEvent.of(10L, 101L, "RXB-2", "void", null))), channel);
+
+        ArgumentCaptor<ReversePointsRequest> request = ArgumentCaptor.forClass(ReversePointsRequest.class);
+        verify(cardService).reversePoints(eq(10L), request.capture());
+        assertThat(request.getValue().getBillIds()).containsExactly(100L, 101L);
+        verify(channel).basicAck(1, false);
+        verify(channel).basicReject(2, false);
+        verify(channel).basicReject(3, false);
+        verify(channel).basicAck(4, false);
+    }
+
+    @Test
+    void isolatesABillThatFailsTheReversal() throws Exception {
+        when(cardService.reversePoints(eq(10L), argThat(r -> r != null && r.getBillIds().contains(101L))))
+                .thenThrow(new IllegalStateException("boom"));
+
+        listener.onBillsCancelled(List.of(
+                message(1, BillCancelledEvent.of(10L, 100L, "RXB-1", "void", null)),
+                message(2, BillCancelledEvent.of(10L, 101L, "RXB-1", "void", null))), channel);
+
+        verify(cardService, times(3)).reversePoints(eq(10L), any());
+        verify(channel).basicAck(1, false);
+        verify(channel).basicReject(2, false);
+    }
+
+    private Message message(long deliveryTag, BillCancelledEvent event) throws Exception {
+        return new Message(objectMapper.writeValueAsBytes(event), properties(deliveryTag));
+    }
+
+    private static MessageProperties properties(long deliveryTag) {
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(deliveryTag);
+        return properties;
+    }
+}
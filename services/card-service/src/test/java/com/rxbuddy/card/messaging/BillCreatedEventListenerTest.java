@@ -0,0 +1,177 @@
+package com.rxbuddy.card.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import com.rxbuddy.card.dto.BulkEarnPointsResponse;
+import com.rxbuddy.card.dto.EarnPointsRequest;
+import com.rxbuddy.card.exception.CardServiceException;
+import com.rxbuddy.card.service.LoyaltyCardService;
+import com.rxbuddy.common.messaging.BillCreatedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BillCreatedEventListenerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final LoyaltyCardService cardService = mock(LoyaltyCardService.class);
+    private final Channel channel = mock(Channel.class);
+    private final BillCreatedEventListener listener = new BillCreatedEventListener(cardService, objectMapper);
+
+    @BeforeEach
+    void setUp() {
+        when(cardService.earnPointsBulk(anyLong(), anyList())).thenReturn(BulkEarnPointsResponse.builder()
+                .failures(List.of())
+                .build());
+    }
+
+    @Test
+    void creditsEachTenantInOneBulkCallAndAcksEveryMessage() throws Exception {
+        listener.onBillsCreated(List.of(
+                message(1, event(10L, 100L, "RXB-1", "50.00", "50.00")),
+                message(2, event(20L, 200L, "RXB-2", "30.00", "30.00")),
+                message(3, event(10L, 101L, "RXB-3", "20.00", "20.00"))), channel);
+
+        ArgumentCaptor<List<EarnPointsRequest>> bills = listCaptor();
+        verify(cardService).earnPointsBulk(eq(10L), bills.capture());
+        assertThat(bills.getValue()).extracting(EarnPointsRequest::getBillId).containsExactly(100L, 101L);
+        verify(cardService).earnPointsBulk(eq(20L), anyList());
+        verify(channel).basicAck(1, false);
+        verify(channel).basicAck(2, false);
+        verify(channel).basicAck(3, false);
+        verify(channel, never()).basicReject(anyLong(), any(Boolean.class));
+    }
+
+    @Test
+    void deadLettersMalformedEventsAndCreditsTheRest() throws Exception {
+        BillCreatedEvent nullBillAmount = event(10L, 101L, "RXB-1", null, "10.00");
+        BillCreatedEvent nullItemAmount = event(10L, 102L, "RXB-1", "10.00", null);
+        BillCreatedEvent noBillId = event(10L, null, "RXB-1", "10.00", "10.00");
+
+        listener.onBillsCreated(List.of(
+                message(1, event(10L, 100L, "RXB-1", "50.00", "50.00")),
+                message(2, nullBillAmount),
+                message(3, nullItemAmount),
+                message(4, noBillId),
+                new Message("{not json".getBytes(StandardCharsets.UTF_8), properties(5))), channel);
+
+        ArgumentCaptor<List<EarnPointsRequest>> bills = listCaptor();
+        verify(cardService).earnPointsBulk(eq(10L), bills.capture());
+        assertThat(bills.getValue()).extracting(EarnPointsRequest::getBillId).containsExactly(100L);
+        verify(channel).basicAck(1, false);
+        for (long tag = 2; tag <= 5; tag++) {
+            verify(channel).basicReject(tag, false);
+        }
+    }
+
+    @Test
+    void acksBillsWithoutACardWithoutCrediting() throws Exception {
+        listener.onBillsCreated(List.of(message(1, event(10L, 100L, null, "50.00", null))), channel);
+
+        verify(cardService, never()).earnPointsBulk(anyLong(), anyList());
+        verify(channel).basicAck(1, false);
+    }
+
+    @Test
+    void isolatesABillThatFailsTheBulkCredit() throws Exception {
+        when(cardService.earnPointsBulk(eq(10L), argThat(bills -> bills.stream().anyMatch(b -> b.getBillId() == 101L))))
+                .thenThrow(new IllegalStateException("boom"));
+
+        listener.onBillsCreated(List.of(
+                message(1, event(10L, 100L, "RXB-1", "50.00", "50.00")),
+                message(2, event(10L, 101L, "RXB-1", "50.00", "50.00")),
+                message(3, event(10L, 102L, "RXB-1", "50.00", "50.00"))), channel);
+
+        // One failed bulk attempt, then one call per bill
+        verify(cardService, times(4)).earnPointsBulk(eq(10L), anyList());
+        verify(channel).basicAck(1, false);
+        verify(channel).basicReject(2, false);
+        verify(channel).basicAck(3, false);
+    }
+
+    @Test
+    void deadLettersBillsOfATenantWhoseCardSystemIsDisabled() throws Exception {
+        when(cardService.earnPointsBulk(eq(10L), anyList()))
+                .thenThrow(new CardServiceException("Card system is not enabled for this tenant"));
+
+        listener.onBillsCreated(List.of(
+                message(1, event(10L, 100L, "RXB-1", "50.00", "50.00")),
+                message(2, event(10L, 101L, "RXB-1", "50.00", "50.00"))), channel);
+
+        verify(cardService, times(1)).earnPointsBulk(eq(10L), anyList());
+        verify(channel).basicReject(1, false);
+        verify(channel).basicReject(2, false);
+        verify(channel, never()).basicAck(anyLong(), any(Boolean.class));
+    }
+
+    @Test
+    void deadLettersRefusedBillsAndAcksSettledOnes() throws Exception {
+        when(cardService.earnPointsBulk(eq(10L), anyList())).thenReturn(BulkEarnPointsResponse.builder()
+                .failedBills(3)
+                .failures(List.of(
+                        failure(101L, BulkEarnPointsResponse.FailedBill.CARD_NOT_FOUND),
+                        failure(102L, BulkEarnPointsResponse.FailedBill.ALREADY_PROCESSED),
+                        failure(103L, BulkEarnPointsResponse.FailedBill.BILL_CANCELLED)))
+                .build());
+
+        listener.onBillsCreated(List.of(
+                message(1, event(10L, 100L, "RXB-1", "50.00", "50.00")),
+                message(2, event(10L, 101L, "RXB-404", "50.00", "50.00")),
+                message(3, event(10L, 102L, "RXB-1", "50.00", "50.00")),
+                message(4, event(10L, 103L, "RXB-1", "50.00", "50.00"))), channel);
+
+        verify(channel).basicAck(1, false);
+        verify(channel).basicReject(2, false);
+        verify(channel).basicAck(3, false);
+        verify(channel).basicAck(4, false);
+    }
+
+    private static BulkEarnPointsResponse.FailedBill failure(Long billId, String reason) {
+        return BulkEarnPointsResponse.FailedBill.builder().billId(billId).reason(reason).build();
+    }
+
+    private Message message(long deliveryTag, BillCreatedEvent event) throws Exception {
+        return new Message(objectMapper.writeValueAsBytes(event), properties(deliveryTag));
+    }
+
+    private static MessageProperties properties(long deliveryTag) {
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(deliveryTag);
+        return properties;
+    }
+
+    private static BillCreatedEvent event(Long tenantId, Long billId, String cardNumber, String billAmount,
+                                          String itemAmount) {
+        List<BillCreatedEvent.Item> items = new ArrayList<>();
+        items.add(BillCreatedEvent.Item.builder()
+                .categoryName("General")
+                .amount(itemAmount != null ? new BigDecimal(itemAmount) : null)
+                .build());
+        return BillCreatedEvent.of(tenantId, billId, cardNumber,
+                billAmount != null ? new BigDecimal(billAmount) : null, items, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<EarnPointsRequest>> listCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+}
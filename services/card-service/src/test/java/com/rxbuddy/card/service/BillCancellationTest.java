@@ -0,0 +1,181 @@
+package com.rxbuddy.card.service;
+
+import com.rxbuddy.card.dto.BulkEarnPointsResponse;
+import com.rxbuddy.card.dto.CreateCardRequest;
+import com.rxbuddy.card.dto.EarnPointsRequest;
+import com.rxbuddy.card.dto.LoyaltyCardDTO;
+import com.rxbuddy.card.dto.ReversePointsRequest;
+import com.rxbuddy.card.dto.ReversePointsResponse;
+import com.rxbuddy.card.exception.CardServiceException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Bill events are asynchronous, so a cancellation can be handled before the credit
+ * for the same bill; the credit must then never be applied. The races run at READ
+ * COMMITTED, the weakest isolation the earn and cancel paths must stay correct under.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BillCancellationTest {
+
+    private static final Long TENANT_ID = 6001L;
+
+    @Autowired
+    private LoyaltyCardService cardService;
+
+    @Autowired
+    private CardConfigurationService configService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private LoyaltyCardDTO card;
+
+    @BeforeAll
+    void createCard() {
+        configService.enableCardSystem(TENANT_ID);
+        card = cardService.createCard(TENANT_ID, CreateCardRequest.builder()
+                .customerId(1L)
+                .customerName("Cancel")
+                .customerPhone("9300000001")
+                .build());
+    }
+
+    @Test
+    void bulkCreditArrivingAfterItsCancellationIsRefused() {
+        ReversePointsResponse reversal = reverse(100L);
+        assertThat(reversal.getReversedBills()).isZero();
+
+        BulkEarnPointsResponse response = cardService.earnPointsBulk(TENANT_ID, List.of(bill(100L), bill(101L)));
+
+        assertThat(response.getProcessedBills()).isEqualTo(1);
+        assertThat(response.getFailures()).singleElement().satisfies(failure -> {
+            assertThat(failure.getBillId()).isEqualTo(100L);
+            assertThat(failure.getReason()).isEqualTo("Bill cancelled");
+        });
+    }
+
+    @Test
+    void singleCreditArrivingAfterItsCancellationIsRefused() {
+        reverse(200L);
+        BigDecimal before = balance();
+
+        assertThatThrownBy(() -> cardService.earnPoints(TENANT_ID, bill(200L)))
+                .isInstanceOf(CardServiceException.class)
+                .hasMessageContaining("cancelled");
+        assertThat(balance()).isEqualByComparingTo(before);
+    }
+
+    @Test
+    void cancellationAfterTheCreditReversesItAndRedeliveryIsHarmless() {
+        BigDecimal before = balance();
+        cardService.earnPoints(TENANT_ID, bill(300L));
+        assertThat(balance()).isGreaterThan(before);
+
+        assertThat(reverse(300L).getReversedBills()).isEqualTo(1);
+        assertThat(reverse(300L).getReversedBills()).isZero();
+
+        assertThat(balance()).isEqualByComparingTo(before);
+        assertThat(cardService.earnPointsBulk(TENANT_ID, List.of(bill(300L))).getProcessedBills()).isZero();
+    }
+
+    @Test
+    void creditRacingAnUncommittedCancellationIsRefused() throws Exception {
+        BigDecimal before = balance();
+
+        Future<?> credit = whileHeld(() -> reverse(400L), () -> cardService.earnPoints(TENANT_ID, bill(400L)));
+
+        assertThatThrownBy(() -> credit.get(1, TimeUnit.MINUTES))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(CardServiceException.class);
+        assertThat(balance()).isEqualByComparingTo(before);
+    }
+
+    @Test
+    void cancellationRacingAnUncommittedCreditReversesIt() throws Exception {
+        BigDecimal before = balance();
+
+        Future<ReversePointsResponse> cancellation = whileHeld(() -> cardService.earnPoints(TENANT_ID, bill(500L)),
+                () -> reverse(500L));
+
+        assertThat(cancellation.get(1, TimeUnit.MINUTES).getReversedBills()).isEqualTo(1);
+        assertThat(balance()).isEqualByComparingTo(before);
+    }
+
+    /**
+     * Runs {@code held} in a READ COMMITTED transaction and, before it commits, starts
+     * {@code racing} in another; the racing side gets half a second to reach its locks.
+     */
+    private <T> Future<T> whileHeld(Runnable held, Supplier<T> racing) throws Exception {
+        TransactionTemplate readCommitted = new TransactionTemplate(transactionManager);
+        readCommitted.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        Future<?> holder = executor.submit(() -> readCommitted.executeWithoutResult(status -> {
+            held.run();
+            written.countDown();
+            awaitQuietly(release);
+        }));
+        written.await(1, TimeUnit.MINUTES);
+        Future<T> result = executor.submit(() -> readCommitted.execute(status -> racing.get()));
+        Thread.sleep(500);
+        release.countDown();
+
+        holder.get(1, TimeUnit.MINUTES);
+        executor.shutdown();
+        return result;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ReversePointsResponse reverse(long billId) {
+        return cardService.reversePoints(TENANT_ID, ReversePointsRequest.builder()
+                .billIds(List.of(billId))
+                .reason("Bill cancelled")
+                .build());
+    }
+
+    private BigDecimal balance() {
+        return cardService.getCardByNumber(TENANT_ID, card.getCardNumber()).getPointsBalance();
+    }
+
+    private EarnPointsRequest bill(long billId) {
+        BigDecimal amount = new BigDecimal("200.00");
+        return EarnPointsRequest.builder()
+                .cardNumber(card.getCardNumber())
+                .billId(billId)
+                .billAmount(amount)
+                .items(List.of(EarnPointsRequest.BillItem.builder().amount(amount).build()))
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.rxbuddy.card.service;
+
+import com.rxbuddy.card.dto.CalculatePointsRequest;
+import com.rxbuddy.card.dto.CalculatePointsResponse;
+import com.rxbuddy.card.dto.CategoryDiscountDTO;
+import com.rxbuddy.card.dto.CategoryPointConfigDTO;
+import com.rxbuddy.card.dto.CreateCardRequest;
+import com.rxbuddy.card.dto.EarnPointsRequest;
+import com.rxbuddy.card.dto.LoyaltyCardDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The POS preview and the credit price bill lines the same way: points on the line amount
+ * as billed, whatever category discount the preview also shows.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BillPricingTest {
+
+    private static final Long TENANT_ID = 8001L;
+    private static final Long DISCOUNTED = 10L;
+    private static final Long PLAIN = 11L;
+
+    @Autowired
+    private LoyaltyCardService cardService;
+
+    @Autowired
+    private CardConfigurationService configService;
+
+    @Test
+    void calculatedPointsAreWhatTheBillIsCredited() {
+        configService.enableCardSystem(TENANT_ID);
+        configService.saveCategoryPointConfig(TENANT_ID, CategoryPointConfigDTO.builder()
+                .categoryId(DISCOUNTED)
+                .pointPercentage(new BigDecimal("2.00"))
+                .isActive(true)
+                .build());
+        configService.saveCategoryDiscount(TENANT_ID, CategoryDiscountDTO.builder()
+                .categoryId(DISCOUNTED)
+                .discountPercentage(new BigDecimal("10.00"))
+                .isActive(true)
+                .build());
+        LoyaltyCardDTO card = cardService.createCard(TENANT_ID, CreateCardRequest.builder()
+                .customerId(1L)
+                .customerName("Pricing")
+                .customerPhone("9500000001")
+                .build());
+
+        BigDecimal discounted = new BigDecimal("1000.00");
+        BigDecimal plain = new BigDecimal("333.33");
+        CalculatePointsResponse preview = cardService.calculate(TENANT_ID, CalculatePointsRequest.builder()
+                .items(List.of(
+                        CalculatePointsRequest.Item.builder().categoryId(DISCOUNTED).amount(discounted).build(),
+                        CalculatePointsRequest.Item.builder().categoryId(PLAIN).amount(plain).build()))
+                .build());
+        BigDecimal credited = cardService.earnPoints(TENANT_ID, EarnPointsRequest.builder()
+                .cardNumber(card.getCardNumber())
+                .billId(1L)
+                .billAmount(discounted.add(plain))
+                .items(List.of(
+                        EarnPointsRequest.BillItem.builder().categoryId(DISCOUNTED).amount(discounted).build(),
+                        EarnPointsRequest.BillItem.builder().categoryId(PLAIN).amount(plain).build()))
+                .build()).getPointsEarned();
+
+        // 2% of 1000.00 plus 1% of 333.33: the 10% discount does not reduce the points
+        assertThat(preview.getPointsEarned()).isEqualByComparingTo("23.33");
+        assertThat(credited).isEqualByComparingTo(preview.getPointsEarned());
+        assertThat(preview.getLines().get(0).getNetAmount()).isEqualByComparingTo("900.00");
+    }
+}
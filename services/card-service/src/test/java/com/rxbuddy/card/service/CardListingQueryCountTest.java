@@ -0,0 +1,106 @@
+package com.rxbuddy.card.service;
+
+import com.rxbuddy.card.dto.CreateCardRequest;
+import com.rxbuddy.card.dto.LoyaltyCardDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Card listings must load the page (with referrers) and the referral counts in a fixed
+ * number of statements, however many cards are on the page.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CardListingQueryCountTest {
+
+    private static final Long TENANT_ID = 2001L;
+    private static final int CARDS = 30;
+
+    @Autowired
+    private LoyaltyCardService cardService;
+
+    @Autowired
+    private CardConfigurationService configService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final List<LoyaltyCardDTO> cards = new ArrayList<>();
+
+    @BeforeAll
+    void createCards() {
+        configService.enableCardSystem(TENANT_ID);
+        for (int i = 0; i < CARDS; i++) {
+            // The first ten cards each refer two of the others
+            String referrer = i >= 10 ? cards.get((i - 10) / 2).getCardNumber() : null;
+            cards.add(cardService.createCard(TENANT_ID, CreateCardRequest.builder()
+                    .customerId(1000L + i)
+                    .customerName("Customer " + i)
+                    .customerPhone(String.format("98%08d", i))
+                    .referrerCardNumber(referrer)
+                    .build()));
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @BeforeEach
+    void resetStatistics() {
+        statistics.clear();
+    }
+
+    @Test
+    void getAllCardsUsesOneReferralCountQueryForThePage() {
+        Page<LoyaltyCardDTO> page = cardService.getAllCards(TENANT_ID, PageRequest.of(0, 50));
+
+        assertThat(page.getContent()).hasSize(CARDS);
+        // page select + grouped referral count
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        assertReferralCounts(page.getContent());
+    }
+
+    @Test
+    void pagedListingAddsOnlyTheCountQuery() {
+        Page<LoyaltyCardDTO> page = cardService.getAllCards(TENANT_ID, PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(page.getTotalElements()).isEqualTo(CARDS);
+        // page select + total count + grouped referral count
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void phoneSearchUsesOneReferralCountQueryForThePage() {
+        Page<LoyaltyCardDTO> page = cardService.searchCards(TENANT_ID, "98", PageRequest.of(0, 50));
+
+        assertThat(page.getContent()).hasSize(CARDS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        assertReferralCounts(page.getContent());
+    }
+
+    private void assertReferralCounts(List<LoyaltyCardDTO> listed) {
+        for (LoyaltyCardDTO card : listed) {
+            int index = (int) (card.getCustomerId() - 1000L);
+            assertThat(card.getReferralCount()).as("referrals of card %d", index).isEqualTo(index < 10 ? 2 : 0);
+            if (index >= 10) {
+                assertThat(card.getReferrerCardNumber()).isEqualTo(cards.get((index - 10) / 2).getCardNumber());
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.rxbuddy.card.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CardNumberAllocatorTest {
+
+    @Autowired
+    private CardNumberAllocator allocator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void formatsTenantSerialAndCheckDigit() {
+        assertThat(CardNumberAllocator.format(7L, 1)).isEqualTo("RXB-007-0000001" + luhn("0070000001"));
+        assertThat(CardNumberAllocator.format(1234L, 9_999_999)).startsWith("RXB-234-9999999");
+    }
+
+    @Test
+    void concurrentVirtualThreadsGetUniqueNumbersFromWholeBlocks() throws Exception {
+        Long tenantId = 4001L;
+        int count = 1_000;
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                results.add(executor.submit(() -> issued.add(allocator.nextCardNumber(tenantId))));
+            }
+            for (Future<?> result : results) {
+                result.get(1, TimeUnit.MINUTES);
+            }
+        }
+
+        assertThat(issued).hasSize(count);
+        assertThat(issued).allSatisfy(number -> {
+            String digits = number.replaceAll("\\D", "");
+            assertThat(digits.charAt(digits.length() - 1)).isEqualTo(luhn(digits.substring(0, digits.length() - 1)));
+        });
+        // With the default block size of 100, exactly the ten blocks needed were reserved: no refill raced another
+        Long nextValue = jdbcTemplate.queryForObject(
+                "SELECT next_value FROM card_number_sequences WHERE tenant_id = ?", Long.class, tenantId);
+        assertThat(nextValue).isEqualTo(count + 1L);
+    }
+
+    private static char luhn(String digits) {
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            int d = digits.charAt(digits.length() - 1 - i) - '0';
+            if (i % 2 == 0) {
+                d = d * 2 > 9 ? d * 2 - 9 : d * 2;
+            }
+            sum += d;
+        }
+        return (char) ('0' + (10 - sum % 10) % 10);
+    }
+}
@@ -0,0 +1,245 @@
+package com.rxbuddy.card.service;
+
+import com.rxbuddy.card.dto.CardConfigurationDTO;
+import com.rxbuddy.card.dto.CreateCardRequest;
+import com.rxbuddy.card.dto.EarnPointsRequest;
+import com.rxbuddy.card.dto.EarnPointsResponse;
+import com.rxbuddy.card.dto.LoyaltyCardDTO;
+import com.rxbuddy.card.dto.RedeemPointsRequest;
+import com.rxbuddy.card.exception.CardServiceException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stress test for the atomic balance deltas: many threads earn on one card (crediting a
+ * shared referrer) and redeem from it at once. Every accepted operation must be reflected
+ * in the final balances and the ledger, with no update lost or applied twice.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ConcurrentBalanceUpdateTest {
+
+    private static final Long TENANT_ID = 3001L;
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 40;
+    private static final BigDecimal BILL_AMOUNT = new BigDecimal("100.00");
+    private static final BigDecimal REDEEM_POINTS = new BigDecimal("1.00");
+
+    @Autowired
+    private LoyaltyCardService cardService;
+
+    @Autowired
+    private CardConfigurationService configService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentEarnsAndRedemptionsLoseNoUpdates() throws Exception {
+        configService.updateConfiguration(TENANT_ID, CardConfigurationDTO.builder()
+                .pointsToAmountRate(BigDecimal.ONE)
+                .maxRedemptionPercent(new BigDecimal("50"))
+                .minPointsToRedeem(1)
+                .referralPointsPercent(new BigDecimal("0.5"))
+                .referralEnabled(true)
+                .build());
+        configService.enableCardSystem(TENANT_ID);
+        LoyaltyCardDTO referrer = createCard(1L, "9100000001", null);
+        LoyaltyCardDTO card = createCard(2L, "9100000002", referrer.getCardNumber());
+
+        AtomicLong billIds = new AtomicLong(1_000);
+        AtomicLong earned = new AtomicLong();
+        AtomicLong referralEarned = new AtomicLong();
+        AtomicLong redeemed = new AtomicLong();
+        AtomicInteger rejectedRedemptions = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            boolean redeemer = t % 2 == 1;
+            results.add(executor.submit((Callable<Void>) () -> {
+                start.await();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    long billId = billIds.incrementAndGet();
+                    if (redeemer && i % 2 == 1) {
+                        try {
+                            cardService.redeemPoints(TENANT_ID, RedeemPointsRequest.builder()
+                                    .cardNumber(card.getCardNumber())
+                                    .points(REDEEM_POINTS)
+                                    .billId(billId)
+                                    .billAmount(BILL_AMOUNT)
+                                    .build());
+                            redeemed.addAndGet(hundredths(REDEEM_POINTS));
+                        } catch (CardServiceException e) {
+                            // Balance spent by a concurrent redemption; nothing may have been debited
+                            rejectedRedemptions.incrementAndGet();
+                        }
+                    } else {
+                        EarnPointsResponse response = cardService.earnPoints(TENANT_ID, earnRequest(card, billId));
+                        earned.addAndGet(hundredths(response.getPointsEarned()));
+                        referralEarned.addAndGet(hundredths(response.getReferrerPointsEarned()));
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertThat(earned.get()).isPositive();
+        assertThat(redeemed.get()).isPositive();
+
+        LoyaltyCardDTO after = cardService.getCardByNumber(TENANT_ID, card.getCardNumber());
+        assertThat(hundredths(after.getTotalPointsEarned())).isEqualTo(earned.get());
+        assertThat(hundredths(after.getTotalPointsRedeemed())).isEqualTo(redeemed.get());
+        assertThat(hundredths(after.getPointsBalance())).isEqualTo(earned.get() - redeemed.get());
+        assertThat(ledgerSum(after.getId())).isEqualTo(earned.get() - redeemed.get());
+
+        LoyaltyCardDTO referrerAfter = cardService.getCardByNumber(TENANT_ID, referrer.getCardNumber());
+        assertThat(hundredths(referrerAfter.getTotalReferralPointsEarned())).isEqualTo(referralEarned.get());
+        assertThat(hundredths(referrerAfter.getPointsBalance())).isEqualTo(referralEarned.get());
+        assertThat(ledgerSum(referrerAfter.getId())).isEqualTo(referralEarned.get());
+
+        int redemptions = THREADS / 2 * OPERATIONS_PER_THREAD / 2;
+        int earns = THREADS * OPERATIONS_PER_THREAD - redemptions;
+        assertThat(transactionCount(after.getId())).isEqualTo(earns + redemptions - rejectedRedemptions.get());
+    }
+
+    @Test
+    void concurrentRetriesOfOneBillCreditItOnce() throws Exception {
+        Long tenantId = TENANT_ID + 1;
+        configService.enableCardSystem(tenantId);
+        LoyaltyCardDTO card = cardService.createCard(tenantId, CreateCardRequest.builder()
+                .customerId(1L)
+                .customerName("Retry")
+                .customerPhone("9100000003")
+                .build());
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<EarnPointsResponse>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return cardService.earnPoints(tenantId, earnRequest(card, 77L));
+            }));
+        }
+        start.countDown();
+        List<BigDecimal> responses = new ArrayList<>();
+        for (Future<EarnPointsResponse> result : results) {
+            responses.add(result.get(1, TimeUnit.MINUTES).getPointsEarned());
+        }
+        executor.shutdown();
+
+        LoyaltyCardDTO after = cardService.getCardByNumber(tenantId, card.getCardNumber());
+        assertThat(responses).allSatisfy(points -> assertThat(points).isEqualByComparingTo(after.getPointsBalance()));
+        assertThat(transactionCount(after.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void purchasesCrossingATierThresholdTogetherPromoteTheCard() throws Exception {
+        Long tenantId = TENANT_ID + 2;
+        configService.updateConfiguration(tenantId, CardConfigurationDTO.builder()
+                .tiersEnabled(true)
+                .silverSpendThreshold(new BigDecimal("150.00"))
+                .goldSpendThreshold(new BigDecimal("1000.00"))
+                .build());
+        configService.enableCardSystem(tenantId);
+        LoyaltyCardDTO card = cardService.createCard(tenantId, CreateCardRequest.builder()
+                .customerId(1L)
+                .customerName("Tier")
+                .customerPhone("9100000004")
+                .build());
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // One purchase holds the card row while a second loads the card (spend still 0) and
+        // waits for the row; neither alone reaches 150.00, together they do
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<EarnPointsResponse> first = executor.submit(() -> new TransactionTemplate(transactionManager).execute(status -> {
+            EarnPointsResponse response = cardService.earnPoints(tenantId, earnRequest(card, 1L));
+            locked.countDown();
+            awaitQuietly(release);
+            return response;
+        }));
+        locked.await(1, TimeUnit.MINUTES);
+        Future<EarnPointsResponse> second = executor.submit(() -> cardService.earnPoints(tenantId, earnRequest(card, 2L)));
+        Thread.sleep(500);
+        release.countDown();
+
+        assertThat(first.get(1, TimeUnit.MINUTES).getTier()).isEqualTo("BRONZE");
+        assertThat(second.get(1, TimeUnit.MINUTES).getTier()).isEqualTo("SILVER");
+        executor.shutdown();
+        assertThat(cardService.getCardByNumber(tenantId, card.getCardNumber()).getTier()).isEqualTo("SILVER");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private LoyaltyCardDTO createCard(Long customerId, String phone, String referrerCardNumber) {
+        return cardService.createCard(TENANT_ID, CreateCardRequest.builder()
+                .customerId(customerId)
+                .customerName("Customer " + customerId)
+                .customerPhone(phone)
+                .referrerCardNumber(referrerCardNumber)
+                .build());
+    }
+
+    private static EarnPointsRequest earnRequest(LoyaltyCardDTO card, long billId) {
+        return EarnPointsRequest.builder()
+                .cardNumber(card.getCardNumber())
+                .billId(billId)
+                .billAmount(BILL_AMOUNT)
+                .items(List.of(EarnPointsRequest.BillItem.builder()
+                        .categoryName("General")
+                        .amount(BILL_AMOUNT)
+                        .build()))
+                .build();
+    }
+
+    private long ledgerSum(Long cardId) {
+        BigDecimal sum = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(points), 0) FROM point_transactions WHERE card_id = ?", BigDecimal.class, cardId);
+        return hundredths(sum);
+    }
+
+    private int transactionCount(Long cardId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM point_transactions WHERE card_id = ?", Integer.class, cardId);
+    }
+
+    private static long hundredths(BigDecimal value) {
+        return value.movePointRight(2).longValueExact();
+    }
+}
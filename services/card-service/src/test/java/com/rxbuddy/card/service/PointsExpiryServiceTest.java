@@ -0,0 +1,108 @@
+package com.rxbuddy.card.service;
+
+import com.rxbuddy.card.dto.CreateCardRequest;
+import com.rxbuddy.card.dto.EarnPointsRequest;
+import com.rxbuddy.card.dto.LoyaltyCardDTO;
+import com.rxbuddy.card.dto.ReversePointsRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * FIFO expiry with reversals: a reversal cancels the credit it undoes, in that credit's
+ * period, and never consumes older credits the way a redemption does.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PointsExpiryServiceTest {
+
+    private static final Long TENANT_ID = 7001L;
+    private static final int EXPIRY_MONTHS = 12;
+
+    @Autowired
+    private PointsExpiryService expiryService;
+
+    @Autowired
+    private LoyaltyCardService cardService;
+
+    @Autowired
+    private CardConfigurationService configService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reversalsNetAgainstTheCreditTheyUndo() {
+        configService.enableCardSystem(TENANT_ID);
+        LocalDateTime longAgo = LocalDateTime.now().minusMonths(EXPIRY_MONTHS * 2L);
+
+        // Old credit, new credit, new bill cancelled: the whole balance is old points
+        LoyaltyCardDTO newReversed = createCard(1L, "9400000001");
+        BigDecimal oldPoints = earn(newReversed, 1L);
+        backdate(1L, longAgo);
+        earn(newReversed, 2L);
+        reverse(2L);
+
+        // Old bill cancelled, new credit kept: nothing is old any more
+        LoyaltyCardDTO oldReversed = createCard(2L, "9400000002");
+        earn(oldReversed, 3L);
+        backdate(3L, longAgo);
+        BigDecimal newPoints = earn(oldReversed, 4L);
+        reverse(3L);
+
+        expiryService.expireTenant(TENANT_ID, EXPIRY_MONTHS, LocalDate.now());
+
+        assertThat(balance(newReversed)).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(expired(newReversed)).isEqualByComparingTo(oldPoints.negate());
+        assertThat(balance(oldReversed)).isEqualByComparingTo(newPoints);
+        assertThat(expired(oldReversed)).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    private LoyaltyCardDTO createCard(Long customerId, String phone) {
+        return cardService.createCard(TENANT_ID, CreateCardRequest.builder()
+                .customerId(customerId)
+                .customerName("Expiry " + customerId)
+                .customerPhone(phone)
+                .build());
+    }
+
+    private BigDecimal earn(LoyaltyCardDTO card, long billId) {
+        BigDecimal amount = new BigDecimal("500.00");
+        return cardService.earnPoints(TENANT_ID, EarnPointsRequest.builder()
+                .cardNumber(card.getCardNumber())
+                .billId(billId)
+                .billAmount(amount)
+                .items(List.of(EarnPointsRequest.BillItem.builder().amount(amount).build()))
+                .build()).getPointsEarned();
+    }
+
+    private void reverse(long billId) {
+        cardService.reversePoints(TENANT_ID, ReversePointsRequest.builder()
+                .billIds(List.of(billId))
+                .reason("Bill cancelled")
+                .build());
+    }
+
+    private void backdate(long billId, LocalDateTime createdAt) {
+        jdbcTemplate.update("UPDATE point_transactions SET created_at = ? WHERE tenant_id = ? AND reference_id = ?",
+                createdAt, TENANT_ID, billId);
+    }
+
+    private BigDecimal balance(LoyaltyCardDTO card) {
+        return cardService.getCardByNumber(TENANT_ID, card.getCardNumber()).getPointsBalance();
+    }
+
+    private BigDecimal expired(LoyaltyCardDTO card) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(points), 0) FROM point_transactions " +
+                "WHERE card_id = ? AND transaction_type = 'EXPIRED'", BigDecimal.class, card.getId());
+    }
+}
@@ -0,0 +1,93 @@
+package com.rxbuddy.card.service;
+
+import com.rxbuddy.card.dto.CreateCardRequest;
+import com.rxbuddy.card.dto.EarnPointsRequest;
+import com.rxbuddy.card.dto.LoyaltyCardDTO;
+import com.rxbuddy.card.dto.PointTransactionDTO;
+import com.rxbuddy.card.exception.CardServiceException;
+import com.rxbuddy.common.dto.CursorPageResponse;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionSeekTest {
+
+    private static final Long TENANT_ID = 5001L;
+    private static final int BILLS = 7;
+
+    @Autowired
+    private LoyaltyCardService cardService;
+
+    @Autowired
+    private CardConfigurationService configService;
+
+    private LoyaltyCardDTO card;
+
+    @BeforeAll
+    void earnBills() {
+        configService.enableCardSystem(TENANT_ID);
+        card = cardService.createCard(TENANT_ID, CreateCardRequest.builder()
+                .customerId(1L)
+                .customerName("Seek")
+                .customerPhone("9200000001")
+                .build());
+        for (long billId = 1; billId <= BILLS; billId++) {
+            BigDecimal amount = new BigDecimal("100.00");
+            cardService.earnPoints(TENANT_ID, EarnPointsRequest.builder()
+                    .cardNumber(card.getCardNumber())
+                    .billId(billId)
+                    .billAmount(amount)
+                    .items(List.of(EarnPointsRequest.BillItem.builder().amount(amount).build()))
+                    .build());
+        }
+    }
+
+    @Test
+    void walksTheWholeHistoryNewestFirst() {
+        List<Long> billIds = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageResponse<PointTransactionDTO> page =
+                    cardService.getTransactionsBefore(TENANT_ID, card.getId(), cursor, 3);
+            assertThat(page.getContent()).hasSizeLessThanOrEqualTo(3);
+            page.getContent().forEach(tx -> billIds.add(tx.getReferenceId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(billIds).containsExactly(7L, 6L, 5L, 4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    void singleRowPages() {
+        CursorPageResponse<PointTransactionDTO> page = cardService.getTransactionsBefore(TENANT_ID, card.getId(), null, 1);
+
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.isHasMore()).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, 101, Integer.MAX_VALUE})
+    void rejectsPageSizesOutsideTheBounds(int size) {
+        assertThatThrownBy(() -> cardService.getTransactionsBefore(TENANT_ID, card.getId(), null, size))
+                .isInstanceOf(CardServiceException.class)
+                .hasMessageContaining("between 1 and 100");
+    }
+}
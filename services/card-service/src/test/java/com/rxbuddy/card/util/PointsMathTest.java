@@ -0,0 +1,147 @@
+package com.rxbuddy.card.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Property checks: on randomized inputs the scaled-long arithmetic must give exactly what the
+ * {@code BigDecimal} chain it replaced gives, including on ties, sub-paise amounts and
+ * products too large for a long.
+ */
+class PointsMathTest {
+
+    private static final int SAMPLES = 100_000;
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+
+    private final Random random = new Random(20261018L);
+
+    @Test
+    void pointsMatchTheDecimalChain() {
+        for (int i = 0; i < SAMPLES; i++) {
+            long amount = random.nextLong(-1_000_000_000L, 1_000_000_000L);
+            long percent = random.nextLong(0, 10_001);
+            long tier = random.nextLong(100, 301);
+            long promotion = random.nextLong(100, 501);
+            long bonus = random.nextLong(0, 2_001);
+
+            assertThat(PointsMath.points(amount, percent, tier, promotion, bonus))
+                    .as("points(%d, %d, %d, %d, %d)", amount, percent, tier, promotion, bonus)
+                    .isEqualTo(decimalPoints(PointsMath.toDecimal(amount), percent, tier, promotion, bonus));
+        }
+    }
+
+    @Test
+    void percentOfMatchesTheDecimalChain() {
+        for (int i = 0; i < SAMPLES; i++) {
+            long amount = random.nextLong(-1_000_000_000_000L, 1_000_000_000_000L);
+            long percent = random.nextLong(0, 10_001);
+
+            assertThat(PointsMath.percentOf(amount, percent))
+                    .as("percentOf(%d, %d)", amount, percent)
+                    .isEqualTo(decimalPercentOf(PointsMath.toDecimal(amount), percent));
+        }
+    }
+
+    @Test
+    void subPaiseAmountsFallBackToTheDecimalChain() {
+        for (int i = 0; i < SAMPLES; i++) {
+            BigDecimal amount = BigDecimal.valueOf(random.nextLong(0, 100_000_000L), 3 + random.nextInt(3));
+            long percent = random.nextLong(0, 10_001);
+            long tier = random.nextLong(100, 301);
+            long promotion = random.nextLong(100, 501);
+            long bonus = random.nextLong(0, 2_001);
+
+            assertThat(PointsMath.points(amount, percent, tier, promotion, bonus))
+                    .as("points(%s, %d, %d, %d, %d)", amount, percent, tier, promotion, bonus)
+                    .isEqualTo(decimalPoints(amount, percent, tier, promotion, bonus));
+            assertThat(PointsMath.percentOf(amount, percent))
+                    .as("percentOf(%s, %d)", amount, percent)
+                    .isEqualTo(decimalPercentOf(amount, percent));
+        }
+    }
+
+    @Test
+    void productsBeyondALongFallBackToTheDecimalChain() {
+        for (int i = 0; i < 1_000; i++) {
+            long amount = random.nextLong(10_000_000_000_000L, 60_000_000_000_000L);
+            long percent = random.nextLong(5_000, 10_001);
+            long tier = random.nextLong(200, 301);
+            long promotion = random.nextLong(300, 501);
+            long bonus = random.nextLong(0, 2_001);
+
+            // The scaled product overflows, so this exercises the fallback
+            assertThatThrownBy(() -> Math.multiplyExact(amount, percent * tier * promotion))
+                    .isInstanceOf(ArithmeticException.class);
+            assertThat(PointsMath.points(amount, percent, tier, promotion, bonus))
+                    .isEqualTo(decimalPoints(PointsMath.toDecimal(amount), percent, tier, promotion, bonus));
+        }
+
+        long amount = Long.MAX_VALUE / 100;
+        assertThat(PointsMath.percentOf(amount, 10_000)).isEqualTo(amount);
+        assertThat(PointsMath.percentOf(amount, 5_000)).isEqualTo(decimalPercentOf(PointsMath.toDecimal(amount), 5_000));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "5, 10, 1",
+            "-5, 10, -1",
+            "4, 10, 0",
+            "-4, 10, 0",
+            "15, 10, 2",
+            "-15, 10, -2",
+            "14, 10, 1",
+            "-14, 10, -1",
+            "0, 10, 0",
+            "49999, 100000, 0",
+            "50000, 100000, 1",
+            "-50000, 100000, -1"
+    })
+    void divideHalfUpRoundsTiesAwayFromZero(long dividend, long divisor, long quotient) {
+        assertThat(PointsMath.divideHalfUp(dividend, divisor)).isEqualTo(quotient);
+    }
+
+    @Test
+    void divideHalfUpMatchesBigDecimal() {
+        for (int i = 0; i < SAMPLES; i++) {
+            long dividend = random.nextLong();
+            long divisor = random.nextLong(1, 1_000_000_000L);
+
+            assertThat(PointsMath.divideHalfUp(dividend, divisor))
+                    .as("divideHalfUp(%d, %d)", dividend, divisor)
+                    .isEqualTo(BigDecimal.valueOf(dividend)
+                            .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP)
+                            .longValueExact());
+        }
+    }
+
+    @Test
+    void hundredthsRejectSubPaiseValues() {
+        assertThat(PointsMath.toHundredths(new BigDecimal("12.3"))).isEqualTo(1_230);
+        assertThat(PointsMath.toDecimal(1_230)).isEqualByComparingTo("12.30");
+        assertThatThrownBy(() -> PointsMath.toHundredths(new BigDecimal("12.345")))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    // The BigDecimal expressions the scaled-long arithmetic replaced
+
+    private static long decimalPoints(BigDecimal amount, long percent, long tier, long promotion, long bonus) {
+        BigDecimal rate = BigDecimal.valueOf(percent, 2)
+                .multiply(BigDecimal.valueOf(tier, 2))
+                .multiply(BigDecimal.valueOf(promotion, 2))
+                .add(BigDecimal.valueOf(bonus, 2));
+        return amount.multiply(rate).divide(HUNDRED, 2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    private static long decimalPercentOf(BigDecimal amount, long percent) {
+        return amount.multiply(BigDecimal.valueOf(percent, 2))
+                .divide(HUNDRED, 2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+}
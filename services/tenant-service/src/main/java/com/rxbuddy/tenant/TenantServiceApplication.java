@@ -2,9 +2,12 @@ package com.rxbuddy.tenant;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 
-@SpringBootApplication
+@SpringBootApplication(scanBasePackages = {"com.rxbuddy.tenant", "com.rxbuddy.common.messaging.outbox",
+        "com.rxbuddy.common.datasource"})
+@EntityScan(basePackages = {"com.rxbuddy.tenant.entity", "com.rxbuddy.common.messaging.outbox"})
 @EnableDiscoveryClient
 public class TenantServiceApplication {
 
@@ -0,0 +1,21 @@
+package com.rxbuddy.tenant.config;
+
+import com.rxbuddy.common.messaging.RabbitMQConfig;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Declares the events exchange the outbox relay publishes to, so tenant-service can
+ * start before any consumer has created it.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.messaging", name = "enabled", havingValue = "true")
+public class MessagingConfig {
+
+    @Bean
+    public TopicExchange eventsExchange() {
+        return new TopicExchange(RabbitMQConfig.EXCHANGE_NAME);
+    }
+}
@@ -17,7 +17,8 @@ import java.util.Set;
 public class Module {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "modules")
+    @TableGenerator(name = "modules", table = "id_generators", pkColumnValue = "modules", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 50)
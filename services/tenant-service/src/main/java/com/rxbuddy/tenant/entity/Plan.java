@@ -18,7 +18,8 @@ import java.util.Set;
 public class Plan {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "plans")
+    @TableGenerator(name = "plans", table = "id_generators", pkColumnValue = "plans", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
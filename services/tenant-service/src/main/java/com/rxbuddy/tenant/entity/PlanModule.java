@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 public class PlanModule {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "plan_modules")
+    @TableGenerator(name = "plan_modules", table = "id_generators", pkColumnValue = "plan_modules", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class Subscription {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "subscriptions")
+    @TableGenerator(name = "subscriptions", table = "id_generators", pkColumnValue = "subscriptions", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
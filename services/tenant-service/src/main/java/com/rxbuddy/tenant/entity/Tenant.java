@@ -17,7 +17,8 @@ import java.util.Set;
 public class Tenant {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "tenants")
+    @TableGenerator(name = "tenants", table = "id_generators", pkColumnValue = "tenants", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 public class TenantModule {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "tenant_modules")
+    @TableGenerator(name = "tenant_modules", table = "id_generators", pkColumnValue = "tenant_modules", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
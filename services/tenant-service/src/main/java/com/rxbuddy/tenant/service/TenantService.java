@@ -1,5 +1,7 @@
 package com.rxbuddy.tenant.service;
 
+import com.rxbuddy.common.messaging.TenantCreatedEvent;
+import com.rxbuddy.common.messaging.outbox.OutboxEventPublisher;
 import com.rxbuddy.tenant.dto.CreateTenantRequest;
 import com.rxbuddy.tenant.dto.TenantDTO;
 import com.rxbuddy.tenant.entity.Plan;
@@ -12,6 +14,7 @@ import com.rxbuddy.tenant.repository.SubscriptionRepository;
 import com.rxbuddy.tenant.repository.TenantRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -29,6 +32,7 @@ public class TenantService {
     private final TenantRepository tenantRepository;
     private final PlanRepository planRepository;
     private final SubscriptionRepository subscriptionRepository;
+    private final ObjectProvider<OutboxEventPublisher> eventPublisher;
 
     @Transactional(readOnly = true)
     public Page<TenantDTO> getAllTenants(Pageable pageable) {
@@ -99,6 +103,10 @@ public class TenantService {
 
         subscriptionRepository.save(subscription);
 
+        TenantCreatedEvent event = TenantCreatedEvent.of(tenant.getId(), tenant.getCode(), tenant.getName(),
+                tenant.getPhone(), tenant.getEmail(), plan.getCode(), subscription.getTrialEndsAt());
+        eventPublisher.ifAvailable(publisher -> publisher.publish(event));
+
         log.info("Created new tenant: {} with code: {}", tenant.getName(), tenant.getCode());
 
         return toTenantDTO(tenant);
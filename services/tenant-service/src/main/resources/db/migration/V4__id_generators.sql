@@ -0,0 +1,20 @@
+-- Pooled id allocation: Hibernate reserves blocks of 50 ids per table from this row
+-- instead of waiting on AUTO_INCREMENT for every insert, so inserts can be batched.
+-- Each row starts past the block the pooled optimizer will hand out first, above existing ids.
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'modules', COALESCE(MAX(id), 0) + 51 FROM modules
+UNION ALL
+SELECT 'plans', COALESCE(MAX(id), 0) + 51 FROM plans
+UNION ALL
+SELECT 'plan_modules', COALESCE(MAX(id), 0) + 51 FROM plan_modules
+UNION ALL
+SELECT 'tenants', COALESCE(MAX(id), 0) + 51 FROM tenants
+UNION ALL
+SELECT 'subscriptions', COALESCE(MAX(id), 0) + 51 FROM subscriptions
+UNION ALL
+SELECT 'tenant_modules', COALESCE(MAX(id), 0) + 51 FROM tenant_modules;
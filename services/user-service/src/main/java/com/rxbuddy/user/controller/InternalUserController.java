@@ -2,6 +2,7 @@ package com.rxbuddy.user.controller;
 
 import com.rxbuddy.common.dto.ApiResponse;
 import com.rxbuddy.common.dto.UserDTO;
+import com.rxbuddy.common.dto.UserLoginContextDTO;
 import com.rxbuddy.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -44,4 +45,22 @@ public class InternalUserController {
         UserDTO user = userService.getUserWithTenantContext(id, tenantId);
         return ResponseEntity.ok(ApiResponse.success(user));
     }
+
+    @GetMapping("/users/by-phone/{phone}/login-context")
+    public ResponseEntity<ApiResponse<UserLoginContextDTO>> getLoginContextByPhone(
+            @PathVariable String phone,
+            @RequestParam(required = false) Long tenantId) {
+        log.debug("Internal request: get login context for phone: {}", phone);
+        UserLoginContextDTO context = userService.getLoginContextByPhone(phone, tenantId);
+        return ResponseEntity.ok(ApiResponse.success(context));
+    }
+
+    @GetMapping("/users/{id}/login-context")
+    public ResponseEntity<ApiResponse<UserLoginContextDTO>> getLoginContextById(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long tenantId) {
+        log.debug("Internal request: get login context for user: {}", id);
+        UserLoginContextDTO context = userService.getLoginContextById(id, tenantId);
+        return ResponseEntity.ok(ApiResponse.success(context));
+    }
 }
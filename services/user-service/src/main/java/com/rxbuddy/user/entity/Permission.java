@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 public class Permission {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "permissions")
+    @TableGenerator(name = "permissions", table = "id_generators", pkColumnValue = "permissions", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -17,7 +17,8 @@ import java.util.Set;
 public class Role {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "roles")
+    @TableGenerator(name = "roles", table = "id_generators", pkColumnValue = "roles", allocationSize = 50)
     private Long id;
 
     @Column(name = "tenant_id")
@@ -1,11 +1,13 @@
 package com.rxbuddy.user.entity;
 
+import com.rxbuddy.user.service.RolePermissionCacheListener;
 import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(RolePermissionCacheListener.class)
 @Table(name = "role_permissions", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"tenant_id", "role_id", "permission_id"})
 })
@@ -17,7 +19,8 @@ import java.time.LocalDateTime;
 public class RolePermission {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "role_permissions")
+    @TableGenerator(name = "role_permissions", table = "id_generators", pkColumnValue = "role_permissions", allocationSize = 50)
     private Long id;
 
     @Column(name = "tenant_id")
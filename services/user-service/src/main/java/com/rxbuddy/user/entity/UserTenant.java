@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class UserTenant {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_tenants")
+    @TableGenerator(name = "user_tenants", table = "id_generators", pkColumnValue = "user_tenants", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
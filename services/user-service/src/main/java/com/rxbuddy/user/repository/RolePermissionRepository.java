@@ -0,0 +1,21 @@
+package com.rxbuddy.user.repository;
+
+import com.rxbuddy.user.entity.RolePermission;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RolePermissionRepository extends JpaRepository<RolePermission, Long> {
+
+    /**
+     * Permission codes granted to a role in a tenant: default mappings (tenant_id NULL)
+     * plus any tenant-specific ones.
+     */
+    @Query("SELECT p.code FROM RolePermission rp JOIN rp.permission p " +
+            "WHERE rp.role.id = :roleId AND (rp.tenantId IS NULL OR rp.tenantId = :tenantId)")
+    List<String> findPermissionCodes(@Param("roleId") Long roleId, @Param("tenantId") Long tenantId);
+}
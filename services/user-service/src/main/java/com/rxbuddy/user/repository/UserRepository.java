@@ -22,4 +22,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.userTenants ut LEFT JOIN FETCH ut.role " +
             "WHERE u.phone = :phone AND u.deletedAt IS NULL")
     Optional<User> findByPhoneWithTenants(@Param("phone") String phone);
+
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.userTenants ut LEFT JOIN FETCH ut.role " +
+            "WHERE u.id = :id AND u.deletedAt IS NULL")
+    Optional<User> findByIdWithTenants(@Param("id") Long id);
 }
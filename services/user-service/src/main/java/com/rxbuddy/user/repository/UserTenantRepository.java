@@ -16,6 +16,10 @@ public interface UserTenantRepository extends JpaRepository<UserTenant, Long> {
 
     Optional<UserTenant> findByUserIdAndTenantIdAndIsActiveTrue(Long userId, Long tenantId);
 
+    @Query("SELECT ut FROM UserTenant ut JOIN FETCH ut.role " +
+            "WHERE ut.user.id = :userId AND ut.tenantId = :tenantId AND ut.isActive = true")
+    Optional<UserTenant> findByUserIdAndTenantIdWithRole(@Param("userId") Long userId, @Param("tenantId") Long tenantId);
+
     @Query("SELECT ut FROM UserTenant ut JOIN FETCH ut.role r LEFT JOIN FETCH r.rolePermissions rp " +
             "LEFT JOIN FETCH rp.permission WHERE ut.user.id = :userId AND ut.tenantId = :tenantId AND ut.isActive = true")
     Optional<UserTenant> findByUserIdAndTenantIdWithPermissions(@Param("userId") Long userId, @Param("tenantId") Long tenantId);
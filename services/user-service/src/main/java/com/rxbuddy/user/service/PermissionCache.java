@@ -0,0 +1,58 @@
+package com.rxbuddy.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.rxbuddy.user.repository.RolePermissionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Resolved permission codes per (role, tenant). Logins and token refreshes read from here
+ * instead of joining through roles, role_permissions and permissions every time.
+ * Sets are immutable and interned, so roles with the same grants share one instance.
+ */
+@Slf4j
+@Component
+public class PermissionCache {
+
+    private final RolePermissionRepository rolePermissionRepository;
+    private final LoadingCache<RoleTenantKey, Set<String>> permissions;
+    private final Cache<Set<String>, Set<String>> internedSets = Caffeine.newBuilder()
+            .weakValues()
+            .build();
+
+    public PermissionCache(RolePermissionRepository rolePermissionRepository,
+                           @Value("${app.permission-cache.max-size:10000}") long maxSize,
+                           @Value("${app.permission-cache.ttl:30m}") Duration ttl) {
+        this.rolePermissionRepository = rolePermissionRepository;
+        this.permissions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build(this::load);
+    }
+
+    public Set<String> getPermissions(Long roleId, Long tenantId) {
+        return permissions.get(new RoleTenantKey(roleId, tenantId));
+    }
+
+    public void evictRole(Long roleId) {
+        permissions.asMap().keySet().removeIf(key -> key.roleId().equals(roleId));
+        log.debug("Evicted cached permissions for role {}", roleId);
+    }
+
+    private Set<String> load(RoleTenantKey key) {
+        Set<String> codes = rolePermissionRepository.findPermissionCodes(key.roleId(), key.tenantId())
+                .stream()
+                .map(String::intern)
+                .collect(Collectors.toUnmodifiableSet());
+        return internedSets.get(codes, set -> set);
+    }
+
+    private record RoleTenantKey(Long roleId, Long tenantId) {}
+}
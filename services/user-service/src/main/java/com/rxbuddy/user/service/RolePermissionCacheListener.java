@@ -0,0 +1,40 @@
+package com.rxbuddy.user.service;
+
+import com.rxbuddy.user.entity.RolePermission;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Drops cached permission sets whenever a role's permission mappings change.
+ * Eviction waits for commit so a concurrent login cannot reload the old set.
+ * The cache is looked up lazily because Hibernate builds this listener while the
+ * EntityManagerFactory that the cache's repository needs is still being created.
+ */
+@RequiredArgsConstructor
+public class RolePermissionCacheListener {
+
+    private final ObjectProvider<PermissionCache> permissionCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onRolePermissionChanged(RolePermission rolePermission) {
+        Long roleId = rolePermission.getRole().getId();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    permissionCache.getObject().evictRole(roleId);
+                }
+            });
+        } else {
+            permissionCache.getObject().evictRole(roleId);
+        }
+    }
+}
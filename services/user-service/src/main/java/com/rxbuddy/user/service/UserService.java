@@ -1,7 +1,7 @@
 package com.rxbuddy.user.service;
 
 import com.rxbuddy.common.dto.UserDTO;
-import com.rxbuddy.user.entity.RolePermission;
+import com.rxbuddy.common.dto.UserLoginContextDTO;
 import com.rxbuddy.user.entity.User;
 import com.rxbuddy.user.entity.UserTenant;
 import com.rxbuddy.user.exception.ResourceNotFoundException;
@@ -12,6 +12,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -23,6 +24,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final UserTenantRepository userTenantRepository;
+    private final PermissionCache permissionCache;
 
     @Transactional(readOnly = true)
     public UserDTO findByPhone(String phone) {
@@ -56,12 +58,10 @@ public class UserService {
         User user = userRepository.findByIdAndDeletedAtIsNull(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 
-        UserTenant userTenant = userTenantRepository.findByUserIdAndTenantIdWithPermissions(userId, tenantId)
+        UserTenant userTenant = userTenantRepository.findByUserIdAndTenantIdWithRole(userId, tenantId)
                 .orElseThrow(() -> new ResourceNotFoundException("User is not associated with tenant: " + tenantId));
 
-        Set<String> permissions = userTenant.getRole().getRolePermissions().stream()
-                .map(rp -> rp.getPermission().getCode())
-                .collect(Collectors.toSet());
+        Set<String> permissions = permissionCache.getPermissions(userTenant.getRole().getId(), tenantId);
 
         return UserDTO.builder()
                 .id(user.getId())
@@ -75,6 +75,65 @@ public class UserService {
                 .build();
     }
 
+    /**
+     * Login aggregate: the user, their active tenants and, for the requested tenant
+     * (or the only one), the role and permissions - from a single fetch-join query.
+     */
+    @Transactional(readOnly = true)
+    public UserLoginContextDTO getLoginContextByPhone(String phone, Long tenantId) {
+        log.debug("Getting login context for phone: {}", phone);
+
+        User user = userRepository.findByPhoneWithTenants(phone)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with phone: " + phone));
+
+        return buildLoginContext(user, tenantId);
+    }
+
+    @Transactional(readOnly = true)
+    public UserLoginContextDTO getLoginContextById(Long userId, Long tenantId) {
+        log.debug("Getting login context for user: {}", userId);
+
+        User user = userRepository.findByIdWithTenants(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+
+        return buildLoginContext(user, tenantId);
+    }
+
+    private UserLoginContextDTO buildLoginContext(User user, Long tenantId) {
+        List<UserTenant> memberships = user.getUserTenants().stream()
+                .filter(ut -> Boolean.TRUE.equals(ut.getIsActive()))
+                .sorted(Comparator.comparing(UserTenant::getTenantId))
+                .collect(Collectors.toList());
+
+        UserTenant selected = null;
+        if (tenantId != null) {
+            selected = memberships.stream()
+                    .filter(ut -> ut.getTenantId().equals(tenantId))
+                    .findFirst()
+                    .orElse(null);
+        } else if (memberships.size() == 1) {
+            selected = memberships.get(0);
+        }
+
+        UserDTO userDTO = mapToDTO(user);
+        if (selected != null) {
+            userDTO.setTenantId(selected.getTenantId());
+            userDTO.setRole(selected.getRole().getCode());
+            userDTO.setPermissions(permissionCache.getPermissions(selected.getRole().getId(), selected.getTenantId()));
+        }
+
+        return UserLoginContextDTO.builder()
+                .user(userDTO)
+                .tenants(memberships.stream()
+                        .map(ut -> UserLoginContextDTO.TenantMembership.builder()
+                                .tenantId(ut.getTenantId())
+                                .tenantName(ut.getTenantName())
+                                .role(ut.getRole().getCode())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
     private UserDTO mapToDTO(User user) {
         return UserDTO.builder()
                 .id(user.getId())
@@ -0,0 +1,18 @@
+-- Pooled id allocation: Hibernate reserves blocks of 50 ids per table from this row
+-- instead of waiting on AUTO_INCREMENT for every insert, so inserts can be batched.
+-- Each row starts past the block the pooled optimizer will hand out first, above existing ids.
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'roles', COALESCE(MAX(id), 0) + 51 FROM roles
+UNION ALL
+SELECT 'permissions', COALESCE(MAX(id), 0) + 51 FROM permissions
+UNION ALL
+SELECT 'role_permissions', COALESCE(MAX(id), 0) + 51 FROM role_permissions
+UNION ALL
+SELECT 'users', COALESCE(MAX(id), 0) + 51 FROM users
+UNION ALL
+SELECT 'user_tenants', COALESCE(MAX(id), 0) + 51 FROM user_tenants;
@@ -0,0 +1,120 @@
+package com.rxbuddy.user.service;
+
+import com.rxbuddy.common.datasource.ReplicaLagMonitor;
+import com.rxbuddy.user.entity.Role;
+import com.rxbuddy.user.entity.User;
+import com.rxbuddy.user.entity.UserTenant;
+import com.rxbuddy.user.repository.RoleRepository;
+import com.rxbuddy.user.repository.UserRepository;
+import com.rxbuddy.user.repository.UserTenantRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * With the replica enabled, read-only transactions such as the tenant-context lookup read the
+ * replica pool while it is healthy and the primary otherwise. The replica here is a copy of
+ * the primary with one column changed, so the answer shows which pool served it.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadReplicaRoutingTest {
+
+    private static final Long TENANT_ID = 11L;
+
+    @MockBean
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserTenantRepository userTenantRepository;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeAll
+    void seedPrimaryAndCopyToReplica() {
+        Role role = roleRepository.save(Role.builder()
+                .name("Pharmacist")
+                .code("PHARMACIST")
+                .isSystemRole(true)
+                .isActive(true)
+                .build());
+        user = userRepository.save(User.builder()
+                .name("Primary")
+                .phone("9600000001")
+                .passwordHash("hash")
+                .isActive(true)
+                .build());
+        userTenantRepository.save(UserTenant.builder()
+                .user(user)
+                .tenantId(TENANT_ID)
+                .tenantName("Replica Pharmacy")
+                .role(role)
+                .isActive(true)
+                .build());
+
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        List<String> script = new JdbcTemplate(primary).queryForList("SCRIPT", String.class);
+        script.stream()
+                .filter(statement -> !statement.startsWith("CREATE USER"))
+                .forEach(replicaJdbc::execute);
+        replicaJdbc.update("UPDATE users SET name = 'Replica' WHERE id = ?", user.getId());
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheHealthyReplica() {
+        when(lagMonitor.isAvailable()).thenReturn(true);
+
+        assertThat(userService.getUserWithTenantContext(user.getId(), TENANT_ID).getName()).isEqualTo("Replica");
+    }
+
+    @Test
+    void readOnlyTransactionsFallBackToThePrimary() {
+        when(lagMonitor.isAvailable()).thenReturn(false);
+
+        assertThat(userService.getUserWithTenantContext(user.getId(), TENANT_ID).getName()).isEqualTo("Primary");
+    }
+
+    @Test
+    void readsInsideReadWriteTransactionsStayOnThePrimary() {
+        when(lagMonitor.isAvailable()).thenReturn(true);
+
+        String name = new TransactionTemplate(transactionManager).execute(status ->
+                userRepository.findById(user.getId()).orElseThrow().getName());
+        assertThat(name).isEqualTo("Primary");
+    }
+}